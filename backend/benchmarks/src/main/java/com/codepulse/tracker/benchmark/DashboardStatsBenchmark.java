@@ -0,0 +1,93 @@
+package com.codepulse.tracker.benchmark;
+
+import com.codepulse.tracker.dto.DashboardStatsDto;
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.UserProblemProgress;
+import com.codepulse.tracker.repository.SpacedRepetitionReviewRepository;
+import com.codepulse.tracker.repository.UserProblemProgressRepository;
+import com.codepulse.tracker.service.DashboardStatsCache;
+import com.codepulse.tracker.review.Sm2ReviewScheduler;
+import com.codepulse.tracker.service.ProblemService;
+import com.codepulse.tracker.service.UserWriteTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the dashboard difficulty stats for a user with {@code progressRows} progress rows.
+ * <p>
+ * {@code aggregatedStats} is the current path through {@link ProblemService#getDashboardStats}: the
+ * database returns one count row per difficulty and the service assembles the DTO (the cache is
+ * sized to zero so every call loads). {@code legacyStats} reproduces the previous in-memory
+ * aggregation, which streamed every progress row once per difficulty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardStatsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int progressRows;
+
+    private ProblemService problemService;
+    private List<UserProblemProgress> progresses;
+
+    @Setup
+    public void setUp() {
+        SyntheticCatalog synthetic = new SyntheticCatalog(progressRows);
+        progresses = new ArrayList<>(progressRows);
+        for (int i = 1; i <= progressRows; i++) {
+            UserProblemProgress progress = new UserProblemProgress();
+            progress.setProblem(synthetic.problem(i));
+            progress.setStatus(i % 3 == 0 ? UserProblemProgress.Status.completed : UserProblemProgress.Status.pending);
+            progresses.add(progress);
+        }
+        List<DashboardStatsDto.DifficultyStats> countRows = Arrays.stream(Problem.Difficulty.values())
+                .map(difficulty -> legacyDifficultyStats(progresses, difficulty))
+                .map(stats -> new DashboardStatsDto.DifficultyStats(stats.getDifficulty(), (long) stats.getTotal(), (long) stats.getCompleted()))
+                .toList();
+
+        UserProblemProgressRepository progressRepository = Stubs.of(UserProblemProgressRepository.class, Map.of(
+                "countByDifficulty", args -> countRows));
+        SpacedRepetitionReviewRepository reviewRepository = Stubs.of(SpacedRepetitionReviewRepository.class, Map.of());
+        UserWriteTracker userWriteTracker = new UserWriteTracker(Duration.ofSeconds(10), 10_000);
+        DashboardStatsCache uncached = new DashboardStatsCache(0, Duration.ofMinutes(10), 50, userWriteTracker, new SimpleMeterRegistry());
+
+        problemService = new ProblemService(synthetic.problemRepository, progressRepository, synthetic.topicRepository,
+                reviewRepository, null, synthetic.catalog, uncached, userWriteTracker, new Sm2ReviewScheduler(365));
+    }
+
+    @Benchmark
+    public DashboardStatsDto aggregatedStats() {
+        return problemService.getDashboardStats(1L);
+    }
+
+    @Benchmark
+    public DashboardStatsDto legacyStats() {
+        DashboardStatsDto stats = new DashboardStatsDto();
+        stats.setTotal(progresses.size());
+        stats.setCompleted((int) progresses.stream().filter(p -> p.getStatus() == UserProblemProgress.Status.completed).count());
+        stats.setPercentage(stats.getTotal() > 0 ? (stats.getCompleted() * 100) / stats.getTotal() : 0);
+        stats.setEasy(legacyDifficultyStats(progresses, Problem.Difficulty.Easy));
+        stats.setMedium(legacyDifficultyStats(progresses, Problem.Difficulty.Medium));
+        stats.setHard(legacyDifficultyStats(progresses, Problem.Difficulty.Hard));
+        return stats;
+    }
+
+    private static DashboardStatsDto.DifficultyStats legacyDifficultyStats(List<UserProblemProgress> progresses, Problem.Difficulty difficulty) {
+        List<UserProblemProgress> filtered = progresses.stream()
+                .filter(p -> p.getProblem().getDifficulty() == difficulty)
+                .toList();
+        long completed = filtered.stream().filter(p -> p.getStatus() == UserProblemProgress.Status.completed).count();
+        return new DashboardStatsDto.DifficultyStats(difficulty, (long) filtered.size(), completed);
+    }
+}
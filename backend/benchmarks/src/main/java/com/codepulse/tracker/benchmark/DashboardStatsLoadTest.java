@@ -0,0 +1,181 @@
+package com.codepulse.tracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@code GET /api/problems/dashboard-stats} against a running backend.
+ * <p>
+ * Signs up {@code users} accounts, gives each a study plan, then runs {@code concurrency} clients that
+ * request the dashboard back to back for {@code warmup + duration}. Reports throughput and latency
+ * percentiles of the measured window, so the same run can be repeated against the platform-thread and
+ * the virtual-thread mode of the server. Settings are system properties:
+ * <ul>
+ *     <li>{@code baseUrl} (default {@code http://localhost:8080})</li>
+ *     <li>{@code users} (50), {@code concurrency} (200), {@code planDays} (30)</li>
+ *     <li>{@code warmup} (10s), {@code duration} (30s), ISO-8601 or seconds</li>
+ *     <li>{@code label} (free text stored with the result), {@code out} (JSON result file, optional)</li>
+ * </ul>
+ */
+public class DashboardStatsLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("baseUrl", "http://localhost:8080");
+        int users = Integer.getInteger("users", 50);
+        int concurrency = Integer.getInteger("concurrency", 200);
+        int planDays = Integer.getInteger("planDays", 30);
+        Duration warmup = duration(System.getProperty("warmup", "10"));
+        Duration measured = duration(System.getProperty("duration", "30"));
+        String label = System.getProperty("label", "");
+        String out = System.getProperty("out");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 8)))
+                .build();
+        List<String> tokens = signUp(client, baseUrl, users, planDays);
+
+        URI dashboard = URI.create(baseUrl + "/api/problems/dashboard-stats");
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureUntil = measureFrom + measured.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            String token = tokens.get(i % tokens.size());
+            results.add(clients.submit(() -> runClient(client, dashboard, token, measureFrom, measureUntil, errors)));
+        }
+
+        long[] latencies = new long[0];
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + clientLatencies.length);
+            System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+        }
+        clients.shutdown();
+        Arrays.sort(latencies);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", label);
+        summary.put("concurrency", concurrency);
+        summary.put("users", users);
+        summary.put("durationSeconds", measured.toSeconds());
+        summary.put("requests", latencies.length);
+        summary.put("errors", errors.get());
+        summary.put("throughputPerSecond", latencies.length / (double) measured.toSeconds());
+        summary.put("p50Millis", percentile(latencies, 0.50));
+        summary.put("p90Millis", percentile(latencies, 0.90));
+        summary.put("p99Millis", percentile(latencies, 0.99));
+        summary.put("maxMillis", percentile(latencies, 1.0));
+
+        String json = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(summary);
+        System.out.println(json);
+        if (out != null) {
+            Files.writeString(Path.of(out), json);
+        }
+        System.exit(0);
+    }
+
+    private static long[] runClient(HttpClient client, URI dashboard, String token,
+                                    long measureFrom, long measureUntil, AtomicLong errors) {
+        HttpRequest request = HttpRequest.newBuilder(dashboard)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= measureUntil) {
+                break;
+            }
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long received = System.nanoTime();
+            if (sent < measureFrom || received > measureUntil) {
+                continue;
+            }
+            if (!ok) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = received - sent;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static List<String> signUp(HttpClient client, String baseUrl, int users, int planDays) throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String signUp = MAPPER.writeValueAsString(Map.of(
+                    "name", "Load Test", "email", "load-" + run + "-" + i + "@codepulse.dev", "password", "load-test"));
+            HttpResponse<String> response = client.send(post(baseUrl + "/api/auth/signup", null, signUp),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Signup failed with " + response.statusCode() + ": " + response.body());
+            }
+            String token = MAPPER.readTree(response.body()).get("jwt").asText();
+
+            String plan = MAPPER.writeValueAsString(Map.of("level", "intermediate", "days", planDays));
+            client.send(post(baseUrl + "/api/study-plan", token, plan), HttpResponse.BodyHandlers.discarding());
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static HttpRequest post(String url, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Duration duration(String value) {
+        return value.startsWith("P") || value.startsWith("p") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+}
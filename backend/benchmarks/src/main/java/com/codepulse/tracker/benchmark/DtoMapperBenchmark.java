@@ -0,0 +1,63 @@
+package com.codepulse.tracker.benchmark;
+
+import com.codepulse.tracker.dto.PlanTaskRow;
+import com.codepulse.tracker.dto.ProblemDto;
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.UserProblemProgress;
+import com.codepulse.tracker.mapper.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-problem cost of {@link DtoMapper#toProblemDto} along its three sources: the catalog lookup
+ * (binary search over {@code catalogSize} ids), a loaded entity, and a projected plan row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    private SyntheticCatalog synthetic;
+    private UserProblemProgress progress;
+    private PlanTaskRow row;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        synthetic = new SyntheticCatalog(catalogSize);
+        progress = new UserProblemProgress();
+        progress.setStatus(UserProblemProgress.Status.completed);
+        progress.setNotes("Two pointers");
+        Problem problem = synthetic.problem(catalogSize / 2);
+        row = new PlanTaskRow(1, problem.getId(), problem.getName(), problem.getDifficulty(), problem.getTopic().getName(),
+                problem.getLeetcodeId(), null, false, UserProblemProgress.Status.completed, "Two pointers");
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public ProblemDto fromCatalog() {
+        return DtoMapper.toProblemDto(synthetic.catalog, randomProblem(), progress);
+    }
+
+    @Benchmark
+    public ProblemDto fromEntity() {
+        return DtoMapper.toProblemDto(randomProblem(), progress);
+    }
+
+    @Benchmark
+    public ProblemDto fromPlanRow() {
+        return DtoMapper.toProblemDto(row);
+    }
+
+    private Problem randomProblem() {
+        return synthetic.problem(1 + random.nextInt(catalogSize));
+    }
+}
@@ -0,0 +1,69 @@
+package com.codepulse.tracker.benchmark;
+
+import com.codepulse.tracker.entity.User;
+import com.codepulse.tracker.security.JwtClaims;
+import com.codepulse.tracker.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token cost of JWT generation and validation.
+ * <p>
+ * {@code legacyValidation} reproduces what the authentication filter used to do per request:
+ * three separate parses (subject, then subject and expiry again), each deriving a new key and
+ * building a new parser. {@code parseAndValidate} is the current single-parse path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-01";
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        user = new User();
+        user.setId(42L);
+        user.setEmail("bench@codepulse.dev");
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtClaims parseAndValidate() {
+        return jwtUtil.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public boolean legacyValidation() {
+        String subject = legacyClaims(token).getSubject();
+        String subjectAgain = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return subject.equals(subjectAgain) && !expiration.before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
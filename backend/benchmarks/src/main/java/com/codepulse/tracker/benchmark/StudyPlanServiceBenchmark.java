@@ -0,0 +1,108 @@
+package com.codepulse.tracker.benchmark;
+
+import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.dto.PlanTaskRow;
+import com.codepulse.tracker.dto.StudyPlanRequest;
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.StudyPlan;
+import com.codepulse.tracker.entity.User;
+import com.codepulse.tracker.entity.UserProblemProgress;
+import com.codepulse.tracker.repository.DailyTaskRepository;
+import com.codepulse.tracker.repository.StudyPlanRepository;
+import com.codepulse.tracker.repository.UserProblemProgressRepository;
+import com.codepulse.tracker.repository.UserRepository;
+import com.codepulse.tracker.service.DashboardStatsCache;
+import com.codepulse.tracker.service.StudyPlanService;
+import com.codepulse.tracker.service.UserWriteTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cost of building and reading a study plan, with repositories replaced by stubs.
+ * <p>
+ * {@code createStudyPlan} covers everything the service does besides SQL: sampling the pool from the
+ * catalog ({@code generateProblemPool}), laying out the days, progress bookkeeping and building the
+ * response ({@code formatPlanAsDto}). {@code latestStudyPlan} covers assembling the days from the
+ * projected rows of the plan read query. Plans have three problems per day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudyPlanServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    @Param({"30", "365"})
+    public int planDays;
+
+    private StudyPlanService studyPlanService;
+    private StudyPlanRequest request;
+
+    @Setup
+    public void setUp() {
+        SyntheticCatalog synthetic = new SyntheticCatalog(catalogSize);
+        List<PlanTaskRow> latestPlanRows = planRows(synthetic, planDays);
+
+        User user = new User();
+        user.setId(1L);
+        StudyPlanRepository studyPlanRepository = Stubs.of(StudyPlanRepository.class, Map.of(
+                "saveAndFlush", args -> {
+                    StudyPlan plan = (StudyPlan) args[0];
+                    plan.setId(1L);
+                    return plan;
+                }));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "getReferenceById", args -> user));
+        DailyTaskRepository dailyTaskRepository = Stubs.of(DailyTaskRepository.class, Map.of(
+                "findLatestPlanRows", args -> latestPlanRows));
+        UserProblemProgressRepository progressRepository = Stubs.of(UserProblemProgressRepository.class, Map.of());
+        UserWriteTracker userWriteTracker = new UserWriteTracker(Duration.ofSeconds(10), 10_000);
+        DashboardStatsCache dashboardStatsCache = new DashboardStatsCache(10_000, Duration.ofMinutes(10), 50,
+                userWriteTracker, new SimpleMeterRegistry());
+
+        studyPlanService = new StudyPlanService(studyPlanRepository, synthetic.problemRepository, synthetic.topicRepository,
+                dailyTaskRepository, progressRepository, userRepository, synthetic.catalog, dashboardStatsCache,
+                new SimpleMeterRegistry(), userWriteTracker);
+
+        request = new StudyPlanRequest();
+        request.setLevel(StudyPlan.SkillLevel.intermediate);
+        request.setDays(planDays);
+        request.setTopics(List.of("Topic 1", "Topic 2", "Topic 3", "Topic 4", "Topic 5"));
+        request.setSeed(42L);
+    }
+
+    @Benchmark
+    public List<DailyPlanDto> createStudyPlan() {
+        return studyPlanService.createStudyPlan(request, 1L);
+    }
+
+    @Benchmark
+    public Optional<List<DailyPlanDto>> latestStudyPlan() {
+        return studyPlanService.getLatestStudyPlan(1L, 1, Integer.MAX_VALUE);
+    }
+
+    private static List<PlanTaskRow> planRows(SyntheticCatalog synthetic, int days) {
+        List<PlanTaskRow> rows = new ArrayList<>();
+        int problemCount = synthetic.problems.length - 1;
+        for (int day = 1; day <= days; day++) {
+            for (int i = 0; i < 3; i++) {
+                Problem problem = synthetic.problem(1 + ((day * 3L + i) * 7919) % problemCount);
+                UserProblemProgress.Status status = i == 0 ? UserProblemProgress.Status.completed : UserProblemProgress.Status.pending;
+                rows.add(new PlanTaskRow(day, problem.getId(), problem.getName(), problem.getDifficulty(),
+                        problem.getTopic().getName(), problem.getLeetcodeId(), null, false, status, null));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,74 @@
+package com.codepulse.tracker.benchmark;
+
+import com.codepulse.tracker.catalog.ProblemCatalog;
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.Topic;
+import com.codepulse.tracker.repository.ProblemRepository;
+import com.codepulse.tracker.repository.TopicRepository;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A generated problem catalog: {@code size} built-in problems with ids 1..size, spread evenly over
+ * {@link #TOPIC_COUNT} topics and the three difficulties, loaded into a real {@link ProblemCatalog}.
+ */
+final class SyntheticCatalog {
+
+    static final int TOPIC_COUNT = 20;
+
+    final List<Topic> topics = new ArrayList<>();
+    final Problem[] problems;
+    final ProblemRepository problemRepository;
+    final TopicRepository topicRepository;
+    final ProblemCatalog catalog;
+
+    SyntheticCatalog(int size) {
+        for (int i = 1; i <= TOPIC_COUNT; i++) {
+            Topic topic = new Topic();
+            topic.setId(i);
+            topic.setName("Topic " + i);
+            topics.add(topic);
+        }
+        Problem.Difficulty[] difficulties = Problem.Difficulty.values();
+        problems = new Problem[size + 1];
+        List<Problem> builtIn = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Problem problem = new Problem();
+            problem.setId((long) i);
+            problem.setName("Problem " + i);
+            problem.setDifficulty(difficulties[i % difficulties.length]);
+            problem.setTopic(topics.get(i % TOPIC_COUNT));
+            problem.setLeetcodeId(Integer.toString(i));
+            problems[i] = problem;
+            builtIn.add(problem);
+        }
+
+        problemRepository = Stubs.of(ProblemRepository.class, Map.of(
+                "findAllBuiltInWithTopic", args -> builtIn,
+                "getReferenceById", args -> problems[((Long) args[0]).intValue()]));
+        topicRepository = Stubs.of(TopicRepository.class, Map.of(
+                "findAll", args -> topics,
+                "findByNameIn", args -> topics.stream().filter(topic -> ((java.util.Collection<?>) args[0]).contains(topic.getName())).toList()));
+        catalog = new ProblemCatalog(problemRepository, topicRepository);
+        enable(catalog);
+        catalog.refresh();
+    }
+
+    Problem problem(long id) {
+        return problems[(int) id];
+    }
+
+    // The flag is normally injected from codepulse.catalog.enabled
+    private static void enable(ProblemCatalog catalog) {
+        try {
+            Field enabled = ProblemCatalog.class.getDeclaredField("enabled");
+            enabled.setAccessible(true);
+            enabled.setBoolean(catalog, true);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
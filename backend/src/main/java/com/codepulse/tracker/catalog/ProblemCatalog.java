@@ -0,0 +1,224 @@
+package com.codepulse.tracker.catalog;
+
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.Topic;
+import com.codepulse.tracker.repository.ProblemRepository;
+import com.codepulse.tracker.repository.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * In-memory index of the built-in (non-custom) problem catalog.
+ * <p>
+ * The catalog is kept in an immutable {@link Snapshot} of parallel primitive arrays, with one
+ * {@link BitSet} per difficulty and per topic over the array positions. Filters such as
+ * "Medium in {Graph, DP}" are answered by bitset intersection without touching the database.
+ * A refresh builds a complete new snapshot and swaps it in, so readers never see a partial catalog.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProblemCatalog {
+
+    private final ProblemRepository problemRepository;
+    private final TopicRepository topicRepository;
+
+    @Value("${codepulse.catalog.enabled:true}")
+    private boolean enabled;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reloads the catalog from the database and atomically replaces the current snapshot.
+     * Should be called after anything that changes problems or topics, e.g. an admin import.
+     */
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot newSnapshot = Snapshot.build(topicRepository.findAll(), problemRepository.findAllBuiltInWithTopic());
+        snapshot = newSnapshot;
+        log.info("Problem catalog loaded: {} problems, {} topics", newSnapshot.ids.length, newSnapshot.topicNames.length);
+    }
+
+    /**
+     * Refreshes once the current transaction commits, or immediately when there is none.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    public int size() {
+        return snapshot.ids.length;
+    }
+
+    public Optional<Entry> find(Long problemId) {
+        Snapshot current = snapshot;
+        int index = problemId == null ? -1 : Arrays.binarySearch(current.ids, problemId);
+        return index >= 0 ? Optional.of(current.entry(index)) : Optional.empty();
+    }
+
+    /**
+     * Returns the catalog positions of all problems with the given difficulty and, when
+     * {@code topicIds} is not empty, one of the given topics. The returned set is a private copy.
+     */
+    public BitSet select(Problem.Difficulty difficulty, Collection<Integer> topicIds) {
+        return snapshot.select(difficulty, topicIds);
+    }
+
+    /**
+     * Picks up to {@code count} distinct problem ids matching {@link #select} using the given random,
+     * so the same seed over the same catalog always yields the same ids in the same order.
+     */
+    public List<Long> sample(Problem.Difficulty difficulty, Collection<Integer> topicIds, int count, Random random) {
+        Snapshot current = snapshot;
+        int[] candidates = current.select(difficulty, topicIds).stream().toArray();
+        int picked = Math.max(0, Math.min(count, candidates.length));
+
+        // Partial Fisher-Yates shuffle: only the first 'picked' slots are randomized.
+        List<Long> ids = new ArrayList<>(picked);
+        for (int i = 0; i < picked; i++) {
+            int j = i + random.nextInt(candidates.length - i);
+            int swap = candidates[i];
+            candidates[i] = candidates[j];
+            candidates[j] = swap;
+            ids.add(current.ids[candidates[i]]);
+        }
+        return ids;
+    }
+
+    /**
+     * Read-only view of a single catalog problem, created on demand from the snapshot arrays.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final Long id;
+        private final String name;
+        private final Problem.Difficulty difficulty;
+        private final String topic;
+        private final String leetcodeId;
+        private final String customLink;
+    }
+
+    private static final class Snapshot {
+
+        private static final Problem.Difficulty[] DIFFICULTIES = Problem.Difficulty.values();
+
+        static final Snapshot EMPTY = build(List.of(), List.of());
+
+        // Parallel arrays indexed by catalog position; ids are sorted ascending for binary search.
+        final long[] ids;
+        final String[] names;
+        final byte[] difficulties;
+        final int[] topics;
+        final String[] leetcodeIds;
+        final String[] customLinks;
+
+        final String[] topicNames;
+        final Map<Integer, Integer> topicIndexById;
+
+        final BitSet[] byDifficulty;
+        final BitSet[] byTopic;
+
+        private Snapshot(int problemCount, List<Topic> topicList) {
+            ids = new long[problemCount];
+            names = new String[problemCount];
+            difficulties = new byte[problemCount];
+            topics = new int[problemCount];
+            leetcodeIds = new String[problemCount];
+            customLinks = new String[problemCount];
+
+            topicNames = new String[topicList.size()];
+            topicIndexById = new HashMap<>();
+            byTopic = new BitSet[topicList.size()];
+            for (int i = 0; i < topicList.size(); i++) {
+                topicNames[i] = topicList.get(i).getName();
+                topicIndexById.put(topicList.get(i).getId(), i);
+                byTopic[i] = new BitSet(problemCount);
+            }
+
+            byDifficulty = new BitSet[DIFFICULTIES.length];
+            for (int i = 0; i < DIFFICULTIES.length; i++) {
+                byDifficulty[i] = new BitSet(problemCount);
+            }
+        }
+
+        static Snapshot build(List<Topic> topicList, List<Problem> problems) {
+            List<Problem> sorted = new ArrayList<>(problems);
+            sorted.sort(Comparator.comparing(Problem::getId));
+
+            Snapshot built = new Snapshot(sorted.size(), topicList);
+            for (int i = 0; i < sorted.size(); i++) {
+                Problem problem = sorted.get(i);
+                built.ids[i] = problem.getId();
+                built.names[i] = problem.getName();
+                built.difficulties[i] = (byte) problem.getDifficulty().ordinal();
+                built.leetcodeIds[i] = problem.getLeetcodeId();
+                built.customLinks[i] = problem.getCustomLink();
+                built.byDifficulty[problem.getDifficulty().ordinal()].set(i);
+
+                Integer topicIndex = problem.getTopic() != null ? built.topicIndexById.get(problem.getTopic().getId()) : null;
+                built.topics[i] = topicIndex != null ? topicIndex : -1;
+                if (topicIndex != null) {
+                    built.byTopic[topicIndex].set(i);
+                }
+            }
+            return built;
+        }
+
+        BitSet select(Problem.Difficulty difficulty, Collection<Integer> topicIds) {
+            BitSet result = (BitSet) byDifficulty[difficulty.ordinal()].clone();
+            if (topicIds != null && !topicIds.isEmpty()) {
+                BitSet topicUnion = new BitSet(ids.length);
+                for (Integer topicId : topicIds) {
+                    Integer topicIndex = topicIndexById.get(topicId);
+                    if (topicIndex != null) {
+                        topicUnion.or(byTopic[topicIndex]);
+                    }
+                }
+                result.and(topicUnion);
+            }
+            return result;
+        }
+
+        Entry entry(int index) {
+            return new Entry(
+                    ids[index],
+                    names[index],
+                    DIFFICULTIES[difficulties[index]],
+                    topics[index] >= 0 ? topicNames[topics[index]] : null,
+                    leetcodeIds[index],
+                    customLinks[index]);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.codepulse.tracker.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // Today's date as seen by components that depend on it, replaced with a fixed clock in tests
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
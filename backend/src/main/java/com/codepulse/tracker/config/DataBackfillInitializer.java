@@ -0,0 +1,43 @@
+package com.codepulse.tracker.config;
+
+import com.codepulse.tracker.repository.ProblemRepository;
+import com.codepulse.tracker.repository.SpacedRepetitionReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills columns that were added to existing tables after rows had already been written:
+ * <ul>
+ *     <li>{@code problems.sample_key}, so that older problems take part in database-side sampling</li>
+ *     <li>{@code spaced_repetition_reviews.user_id}, so that older reviews show up in the review queue</li>
+ *     <li>{@code spaced_repetition_reviews.interval_days}, so that SM-2 grows older reviews from the interval they
+ *     were on instead of starting over at one day</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataBackfillInitializer implements ApplicationRunner {
+
+    private final ProblemRepository problemRepository;
+    private final SpacedRepetitionReviewRepository reviewRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int sampleKeys = problemRepository.assignMissingSampleKeys();
+        if (sampleKeys > 0) {
+            log.info("Assigned sample keys to {} problems", sampleKeys);
+        }
+        int reviewOwners = reviewRepository.assignMissingUserIds();
+        if (reviewOwners > 0) {
+            log.info("Assigned owners to {} spaced repetition reviews", reviewOwners);
+        }
+        int reviewIntervals = reviewRepository.assignMissingIntervals();
+        if (reviewIntervals > 0) {
+            log.info("Assigned intervals to {} spaced repetition reviews", reviewIntervals);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.codepulse.tracker.config;
+
+import com.codepulse.tracker.repository.SequenceIds;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migration for databases created while ids were {@code IDENTITY} columns.
+ * <p>
+ * Entity ids now come from one sequence per table, mostly {@code <table>_seq} stepping by 50 and read with the
+ * pooled-lo optimizer. {@code ddl-auto=update} creates those sequences starting at 1, below the ids the
+ * identity columns already handed out. Before the server accepts requests, each sequence that is behind
+ * its table is moved past the table's highest id. The old identity defaults stay in place but are no
+ * longer used, since every insert now supplies its id; they can be dropped at leisure with
+ * {@code ALTER TABLE <table> ALTER COLUMN id DROP IDENTITY IF EXISTS}.
+ * <p>
+ * Study plans use {@code study_plan_ids_seq}, stepping by 1, so that their ids follow creation order.
+ * The pooled {@code study_plans_seq} it replaces is no longer used and can be dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+// The schema update that creates the sequences runs when the entity manager factory is built
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            pooled("users"),
+            pooled("topics"),
+            pooled("problems"),
+            new IdSequence("study_plans", "study_plan_ids_seq", 1),
+            pooled("daily_tasks"),
+            pooled("user_problem_progress"),
+            pooled("spaced_repetition_reviews"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        for (IdSequence idSequence : SEQUENCES) {
+            String table = idSequence.table();
+            String sequence = idSequence.sequence();
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            Map<String, Object> state = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + sequence);
+            long lastValue = ((Number) state.get("last_value")).longValue();
+            long nextValue = Boolean.TRUE.equals(state.get("is_called")) ? lastValue + idSequence.increment() : lastValue;
+            if (nextValue <= maxId) {
+                jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', ?, false)", Long.class, maxId + 1);
+                log.info("Moved sequence {} past the existing ids of {} (next id {})", sequence, table, maxId + 1);
+            }
+        }
+    }
+
+    private static IdSequence pooled(String table) {
+        return new IdSequence(table, table + "_seq", SequenceIds.ALLOCATION_SIZE);
+    }
+
+    private record IdSequence(String table, String sequence, int increment) {
+    }
+}
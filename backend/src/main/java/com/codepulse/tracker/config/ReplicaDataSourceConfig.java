@@ -0,0 +1,58 @@
+package com.codepulse.tracker.config;
+
+import com.codepulse.tracker.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured connection pool with a primary and a replica pool when
+ * {@code codepulse.datasource.replica.url} is set. Both pools take the {@code spring.datasource.hikari.*}
+ * settings; {@code codepulse.datasource.replica.hikari.*} overrides them for the replica.
+ * Their {@code hikaricp.*} metrics are tagged {@code pool=primary} and {@code pool=replica}.
+ */
+@Configuration
+@ConditionalOnExpression("!'${codepulse.datasource.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${codepulse.datasource.replica.url}") String replicaUrl,
+                                 @Value("${codepulse.datasource.replica.username}") String replicaUsername,
+                                 @Value("${codepulse.datasource.replica.password}") String replicaPassword,
+                                 @Value("${codepulse.datasource.replica.retry-after:30s}") Duration retryAfter) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("codepulse.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        // The application starts without the replica; its reads go to the primary until it can be reached
+        replica.setInitializationFailTimeout(-1);
+
+        return new ReadWriteRoutingDataSource(primary, replica, retryAfter, meterRegistry);
+    }
+}
@@ -2,25 +2,40 @@ package com.codepulse.tracker.config;
 
 
 import com.codepulse.tracker.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.springframework.security.config.Customizer.withDefaults;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -28,6 +43,41 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * Actuator endpoints. Health is public. The other endpoints are open to local requests on the management port,
+     * e.g. a Prometheus on the same host; anything else must log in with HTTP Basic as the configured scrape user.
+     * Without a configured password, the other endpoints are local-only.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            Environment environment,
+            @Value("${codepulse.management.username:prometheus}") String username,
+            @Value("${codepulse.management.password:}") String password) throws Exception {
+        InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+        if (!password.isBlank()) {
+            scrapeUsers.createUser(User.withUsername(username).password(passwordEncoder.encode(password)).roles("METRICS").build());
+        }
+        DaoAuthenticationProvider scrapeAuthentication = new DaoAuthenticationProvider(passwordEncoder);
+        scrapeAuthentication.setUserDetailsService(scrapeUsers);
+
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(new ProviderManager(scrapeAuthentication))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(request -> onManagementPort(request, environment) && isLoopback(request)).permitAll()
+                        .anyRequest().hasRole("METRICS")
+                )
+                .httpBasic(withDefaults());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -41,6 +91,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Allow public access to authentication endpoints
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Streamed responses finish in an async dispatch of a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Require authentication for all other requests
                         .anyRequest().authenticated()
                 )
@@ -50,6 +102,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static boolean onManagementPort(HttpServletRequest request, Environment environment) {
+        // Set once the management server is listening; also covers a random port (management.server.port=0)
+        Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+        return managementPort != null && request.getLocalPort() == managementPort;
+    }
+
+    private static boolean isLoopback(HttpServletRequest request) {
+        try {
+            // The remote address is an IP literal, so this does not resolve anything
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         // Use BCrypt for password hashing
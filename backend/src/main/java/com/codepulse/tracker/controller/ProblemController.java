@@ -3,50 +3,108 @@ package com.codepulse.tracker.controller;
 import com.codepulse.tracker.dto.CustomProblemRequest;
 import com.codepulse.tracker.dto.DashboardStatsDto;
 import com.codepulse.tracker.dto.NoteUpdateRequest;
+import com.codepulse.tracker.dto.ProblemBatchRequest;
 import com.codepulse.tracker.dto.ProblemDto;
-import com.codepulse.tracker.entity.User;
+import com.codepulse.tracker.dto.ReviewOutcomeRequest;
+import com.codepulse.tracker.dto.ReviewQueueDto;
+import com.codepulse.tracker.dto.SpacedRepetitionDto;
+import com.codepulse.tracker.security.UserPrincipal;
 import com.codepulse.tracker.service.ProblemService;
+import com.codepulse.tracker.service.UserWriteTracker;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/problems")
 @RequiredArgsConstructor
 public class ProblemController {
 
+    // Kept in the browser's private cache, and revalidated with If-None-Match every time it is used
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ProblemService problemService;
+    private final UserWriteTracker userWriteTracker;
 
     @PostMapping("/custom")
     public ResponseEntity<ProblemDto> addCustomProblem(
             @Valid @RequestBody CustomProblemRequest request,
-            @AuthenticationPrincipal User currentUser) {
-        ProblemDto newProblem = problemService.addCustomProblem(request, currentUser);
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ProblemDto newProblem = problemService.addCustomProblem(request, currentUser.getId());
         return ResponseEntity.ok(newProblem);
     }
 
     @PatchMapping("/{problemId}/status")
     public ResponseEntity<ProblemDto> toggleProblemStatus(
             @PathVariable Long problemId,
-            @AuthenticationPrincipal User currentUser) {
-        ProblemDto updatedProblem = problemService.toggleProblemStatus(problemId, currentUser);
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ProblemDto updatedProblem = problemService.toggleProblemStatus(problemId, currentUser.getId());
         return ResponseEntity.ok(updatedProblem);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProblemDto>> applyBatch(
+            @Valid @RequestBody ProblemBatchRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        List<ProblemDto> updatedProblems = problemService.applyBatch(request.getMutations(), currentUser.getId());
+        return ResponseEntity.ok(updatedProblems);
+    }
+
     @PutMapping("/{problemId}/notes")
     public ResponseEntity<ProblemDto> updateNote(
             @PathVariable Long problemId,
             @RequestBody NoteUpdateRequest request,
-            @AuthenticationPrincipal User currentUser) {
-        ProblemDto updatedProblem = problemService.updateNote(problemId, request.getNote(), currentUser);
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ProblemDto updatedProblem = problemService.updateNote(problemId, request.getNote(), currentUser.getId());
         return ResponseEntity.ok(updatedProblem);
     }
 
+    @PostMapping("/{problemId}/reviews")
+    public ResponseEntity<SpacedRepetitionDto> recordReview(
+            @PathVariable Long problemId,
+            @Valid @RequestBody ReviewOutcomeRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        SpacedRepetitionDto review = problemService.recordReview(problemId, request.getOutcome(), currentUser.getId());
+        return ResponseEntity.ok(review);
+    }
+
     @GetMapping("/dashboard-stats")
-    public ResponseEntity<DashboardStatsDto> getDashboardStats(@AuthenticationPrincipal User currentUser) {
-        DashboardStatsDto stats = problemService.getDashboardStats(currentUser);
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<DashboardStatsDto> getDashboardStats(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                               WebRequest request) {
+        // Nothing the user wrote since the client's copy: 304 before the stats are loaded or serialized
+        if (request.checkNotModified("W/\"" + userWriteTracker.revision(currentUser.getId()) + "\"")) {
+            return null;
+        }
+        DashboardStatsDto stats = problemService.getDashboardStats(currentUser.getId());
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(stats);
+    }
+
+    @GetMapping("/reviews")
+    public ResponseEntity<ReviewQueueDto> getReviewQueue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueOnOrBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ReviewQueueDto page = problemService.getReviewQueue(currentUser.getId(), dueOnOrBefore, afterDate, afterId, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/reviews/due")
+    public ResponseEntity<ReviewQueueDto> getDueReviews(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ReviewQueueDto page = problemService.getDueReviews(currentUser.getId(), afterDate, afterId, limit);
+        return ResponseEntity.ok(page);
     }
 }
\ No newline at end of file
@@ -1,16 +1,31 @@
 package com.codepulse.tracker.controller;
 
 
+import com.codepulse.tracker.dto.CompactPlanDto;
 import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.dto.StudyPlanJobDto;
 import com.codepulse.tracker.dto.StudyPlanRequest;
-import com.codepulse.tracker.entity.User;
+import com.codepulse.tracker.security.UserPrincipal;
+import com.codepulse.tracker.service.StudyPlanJobService;
 import com.codepulse.tracker.service.StudyPlanService;
+import com.codepulse.tracker.service.UserWriteTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,21 +33,123 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StudyPlanController {
 
+    // Kept in the browser's private cache, and revalidated with If-None-Match every time it is used
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final StudyPlanService studyPlanService;
+    private final StudyPlanJobService studyPlanJobService;
+    private final UserWriteTracker userWriteTracker;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
 
     @PostMapping
     public ResponseEntity<List<DailyPlanDto>> createStudyPlan(
             @Valid @RequestBody StudyPlanRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal UserPrincipal currentUser) {
 
-        List<DailyPlanDto> plan = studyPlanService.createStudyPlan(request, currentUser);
+        List<DailyPlanDto> plan = studyPlanService.createStudyPlan(request, currentUser.getId());
         return ResponseEntity.ok(plan);
     }
+
+    // Opt-in with "?format=compact": each problem is sent once and days list problem ids; notes only with "&notes=true"
+    @PostMapping(params = {"format=compact", "async!=true"})
+    public ResponseEntity<CompactPlanDto> createCompactStudyPlan(
+            @Valid @RequestBody StudyPlanRequest request,
+            @RequestParam(defaultValue = "false") boolean notes,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        return ResponseEntity.ok(studyPlanService.createCompactStudyPlan(request, currentUser.getId(), notes));
+    }
+
+    // Returns a job immediately; the plan is generated in the background and replaces the current one when done
+    @PostMapping(params = "async=true")
+    public ResponseEntity<StudyPlanJobDto> createStudyPlanAsync(
+            @Valid @RequestBody StudyPlanRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        StudyPlanJobDto job = studyPlanJobService.submit(request, currentUser.getId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/study-plan/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<StudyPlanJobDto> getStudyPlanJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(studyPlanJobService.getJob(jobId, currentUser.getId()));
+    }
+
+    // Opt-in with "Accept: application/x-ndjson": one day per line
+    @PostMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createStudyPlanStream(
+            @Valid @RequestBody StudyPlanRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        List<DailyPlanDto> plan = studyPlanService.createStudyPlan(request, currentUser.getId());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> plan.forEach(day -> writeLine(out, day)));
+    }
+
     @GetMapping("/latest")
-    public ResponseEntity<List<DailyPlanDto>> getLatestStudyPlan(@AuthenticationPrincipal User currentUser) {
-        return studyPlanService.getLatestStudyPlan(currentUser)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<List<DailyPlanDto>> getLatestStudyPlan(
+            @RequestParam(defaultValue = "1") int fromDay,
+            @RequestParam(required = false) Integer toDay,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            WebRequest request) {
+        // Nothing the user wrote since the client's copy of this day range: 304 before the plan is read
+        if (request.checkNotModified(latestPlanETag(currentUser.getId()))) {
+            return null;
+        }
+        return studyPlanService.getLatestStudyPlan(currentUser.getId(), fromDay, toDay != null ? toDay : Integer.MAX_VALUE)
+                .map(plan -> ResponseEntity.ok().cacheControl(REVALIDATE).body(plan))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/latest", params = "format=compact")
+    public ResponseEntity<CompactPlanDto> getLatestCompactPlan(
+            @RequestParam(defaultValue = "1") int fromDay,
+            @RequestParam(required = false) Integer toDay,
+            @RequestParam(defaultValue = "false") boolean notes,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            WebRequest request) {
+        if (request.checkNotModified(latestPlanETag(currentUser.getId()))) {
+            return null;
+        }
+        return studyPlanService.getLatestCompactPlan(currentUser.getId(), fromDay, toDay != null ? toDay : Integer.MAX_VALUE, notes)
+                .map(plan -> ResponseEntity.ok().cacheControl(REVALIDATE).body(plan))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-}
\ No newline at end of file
+    // Opt-in with "Accept: application/x-ndjson": days are written as they are read from a database cursor
+    @GetMapping(value = "/latest", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLatestStudyPlan(
+            @RequestParam(defaultValue = "1") int fromDay,
+            @RequestParam(required = false) Integer toDay,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Long userId = currentUser.getId();
+        if (!studyPlanService.hasStudyPlan(userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        int lastDay = toDay != null ? toDay : Integer.MAX_VALUE;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> studyPlanService.streamLatestStudyPlan(userId, fromDay, lastDay, day -> writeLine(out, day)));
+    }
+
+    // Plan dates count from today, so a copy fetched on another day is stale even if the user wrote nothing since
+    private String latestPlanETag(Long userId) {
+        return "W/\"" + userWriteTracker.revision(userId) + "-" + LocalDate.now(clock) + "\"";
+    }
+
+    private void writeLine(OutputStream out, DailyPlanDto day) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(day));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.codepulse.tracker.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions of the annotated method run on the replica pool, when one is configured
+ * with {@code codepulse.datasource.replica.url}. Transactions that are not read-only always use the primary.
+ * <p>
+ * The value names the endpoint in {@code codepulse.datasource.replica.consistency.<name>}, which is either
+ * {@code read-your-writes} (the default: a user who wrote within the last few seconds reads from the primary)
+ * or {@code eventual} (always the replica, however far it lags behind).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {
+
+    String value();
+
+    enum Consistency {
+        READ_YOUR_WRITES,
+        EVENTUAL
+    }
+}
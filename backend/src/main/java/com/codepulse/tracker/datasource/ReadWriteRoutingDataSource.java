@@ -0,0 +1,88 @@
+package com.codepulse.tracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Hands out replica connections to the read-only transactions of {@link ReadFromReplica} methods and primary
+ * connections to everything else. When the replica cannot be reached, those reads fall back to the primary
+ * and the replica is left alone for {@code retryAfter} before it is tried again.
+ * <p>
+ * The physical connection is only fetched on the first statement: the transaction manager asks for a
+ * connection before the transaction is marked read-only, so routing at that point would be too early.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Duration retryAfter;
+    private final Counter replicaAcquired;
+    private final Counter replicaUnavailable;
+
+    private volatile long replicaDownUntil;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica, Duration retryAfter,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfter = retryAfter;
+        this.replicaAcquired = replicaCounter(meterRegistry, "acquired");
+        this.replicaUnavailable = replicaCounter(meterRegistry, "unavailable");
+        setTargetDataSource(new Router());
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    private boolean readsFromReplica() {
+        return ReplicaReadAspect.replicaPreferred()
+                && (!TransactionSynchronizationManager.isActualTransactionActive()
+                        || TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+                && System.currentTimeMillis() >= replicaDownUntil;
+    }
+
+    private static Counter replicaCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("codepulse.datasource.replica.connections")
+                .description("Connections requested from the read replica; unavailable ones were served by the primary")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (readsFromReplica()) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaAcquired.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replicaDownUntil = System.currentTimeMillis() + retryAfter.toMillis();
+                    replicaUnavailable.increment();
+                    log.warn("Read replica unavailable, reading from the primary for the next {}: {}", retryAfter, e.getMessage());
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.codepulse.tracker.datasource;
+
+import com.codepulse.tracker.security.UserPrincipal;
+import com.codepulse.tracker.service.UserWriteTracker;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides, once per call of a {@link ReadFromReplica} method, whether its reads may go to the replica, and
+ * exposes the decision to {@link ReadWriteRoutingDataSource} for the duration of the call.
+ * Ordered just outside the transaction advice, so that the decision is in place before the first connection is fetched.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ReplicaReadAspect {
+
+    private static final ThreadLocal<Boolean> REPLICA_PREFERRED = new ThreadLocal<>();
+
+    private final UserWriteTracker userWriteTracker;
+    private final Environment environment;
+    private final Map<String, ReadFromReplica.Consistency> consistencyByEndpoint = new ConcurrentHashMap<>();
+
+    static boolean replicaPreferred() {
+        return Boolean.TRUE.equals(REPLICA_PREFERRED.get());
+    }
+
+    @Around("@annotation(readFromReplica)")
+    public Object route(ProceedingJoinPoint joinPoint, ReadFromReplica readFromReplica) throws Throwable {
+        Boolean previous = REPLICA_PREFERRED.get();
+        REPLICA_PREFERRED.set(mayReadFromReplica(readFromReplica.value()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                REPLICA_PREFERRED.remove();
+            } else {
+                REPLICA_PREFERRED.set(previous);
+            }
+        }
+    }
+
+    private boolean mayReadFromReplica(String endpoint) {
+        ReadFromReplica.Consistency consistency = consistencyByEndpoint.computeIfAbsent(endpoint, name -> environment.getProperty(
+                "codepulse.datasource.replica.consistency." + name, ReadFromReplica.Consistency.class,
+                ReadFromReplica.Consistency.READ_YOUR_WRITES));
+        return consistency == ReadFromReplica.Consistency.EVENTUAL || !userWriteTracker.wroteRecently(currentUserId());
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId()
+                : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.codepulse.tracker.dto;
+
+import com.codepulse.tracker.entity.Problem;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalized form of a study plan, sent for {@code ?format=compact}. Each problem is described once in
+ * {@code problems}, keyed by id, and days only list problem ids. Topic names are listed once in
+ * {@code topics} and referenced by index. Empty fields (no link, not custom, no notes) are left out,
+ * and notes are only included on request.
+ */
+@Data
+public class CompactPlanDto {
+    private List<String> topics = new ArrayList<>();
+    private Map<Long, ProblemEntry> problems = new LinkedHashMap<>();
+    private List<Day> days = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class Day {
+        private int day;
+        private String date;
+        private List<Long> problems;
+    }
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ProblemEntry {
+        private String name;
+        private Problem.Difficulty difficulty;
+        // Index into CompactPlanDto#topics
+        private int topic;
+        private String status;
+        private String leetcodeId;
+        private String customLink;
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+        private boolean custom;
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        private String notes;
+    }
+}
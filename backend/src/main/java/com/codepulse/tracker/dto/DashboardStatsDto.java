@@ -1,7 +1,10 @@
 package com.codepulse.tracker.dto;
 
 
+import com.codepulse.tracker.entity.Problem;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
@@ -12,12 +15,27 @@ public class DashboardStatsDto {
     private DifficultyStats easy;
     private DifficultyStats medium;
     private DifficultyStats hard;
+    // The next reviews in due-date order, capped at codepulse.dashboard.review-limit
     private List<SpacedRepetitionDto> spacedRepetition;
+    // Number of scheduled reviews, including those not listed in spacedRepetition
+    private long spacedRepetitionTotal;
 
     @Data
+    @NoArgsConstructor
     public static class DifficultyStats {
+        // Only used to group aggregation rows; not part of the response
+        @JsonIgnore
+        private Problem.Difficulty difficulty;
         private int total;
         private int completed;
         private int percentage;
+
+        // Used as a JPQL constructor expression by UserProblemProgressRepository#countByDifficulty
+        public DifficultyStats(Problem.Difficulty difficulty, Long total, Long completed) {
+            this.difficulty = difficulty;
+            this.total = total != null ? total.intValue() : 0;
+            this.completed = completed != null ? completed.intValue() : 0;
+            this.percentage = this.total > 0 ? (this.completed * 100) / this.total : 0;
+        }
     }
 }
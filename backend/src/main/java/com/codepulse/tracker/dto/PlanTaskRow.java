@@ -0,0 +1,23 @@
+package com.codepulse.tracker.dto;
+
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.UserProblemProgress;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One task of a study plan with its problem, topic and the user's progress, read in a single projected query.
+// The progress columns are null when the user has no progress row for the problem.
+@Data
+@AllArgsConstructor
+public class PlanTaskRow {
+    private Integer dayNumber;
+    private Long problemId;
+    private String name;
+    private Problem.Difficulty difficulty;
+    private String topic;
+    private String leetcodeId;
+    private String customLink;
+    private boolean custom;
+    private UserProblemProgress.Status status;
+    private String notes;
+}
@@ -0,0 +1,15 @@
+package com.codepulse.tracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProblemBatchRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<@Valid ProblemMutation> mutations;
+}
@@ -0,0 +1,19 @@
+package com.codepulse.tracker.dto;
+
+import com.codepulse.tracker.entity.UserProblemProgress;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A single entry of a batch update. Null status or note means "leave unchanged".
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemMutation {
+    @NotNull
+    private Long problemId;
+
+    private UserProblemProgress.Status status;
+    private String note;
+}
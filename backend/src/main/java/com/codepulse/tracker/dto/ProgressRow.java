@@ -0,0 +1,16 @@
+package com.codepulse.tracker.dto;
+
+import com.codepulse.tracker.entity.UserProblemProgress;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A user's progress on one problem as returned by the bulk upsert; created is true for rows the upsert inserted.
+@Data
+@AllArgsConstructor
+public class ProgressRow {
+    private Long id;
+    private Long problemId;
+    private UserProblemProgress.Status status;
+    private String notes;
+    private boolean created;
+}
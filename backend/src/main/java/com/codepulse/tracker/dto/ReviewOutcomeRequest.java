@@ -0,0 +1,11 @@
+package com.codepulse.tracker.dto;
+
+import com.codepulse.tracker.review.ReviewScheduler;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReviewOutcomeRequest {
+    @NotNull(message = "Outcome is required")
+    private ReviewScheduler.Outcome outcome;
+}
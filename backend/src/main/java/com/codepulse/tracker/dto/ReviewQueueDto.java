@@ -0,0 +1,18 @@
+package com.codepulse.tracker.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One page of the spaced repetition queue, ordered by next review date.
+ * Pass {@code nextAfterDate} and {@code nextAfterId} back as {@code afterDate} and {@code afterId}
+ * to fetch the following page; both are null on the last page.
+ */
+@Data
+public class ReviewQueueDto {
+    private List<SpacedRepetitionDto> reviews;
+    private LocalDate nextAfterDate;
+    private Long nextAfterId;
+}
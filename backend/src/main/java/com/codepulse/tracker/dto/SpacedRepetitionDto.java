@@ -1,13 +1,29 @@
 package com.codepulse.tracker.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class SpacedRepetitionDto {
+    // Keyset pagination cursor component; exposed through ReviewQueueDto instead
+    @JsonIgnore
+    private Long reviewId;
     private Long problemId;
     private String problemName;
     private LocalDate nextReviewDate;
     private int repetitions;
-}
\ No newline at end of file
+
+    // Used as a JPQL constructor expression by the review queue query
+    public SpacedRepetitionDto(Long reviewId, Long problemId, String problemName, LocalDate nextReviewDate, Integer repetitions) {
+        this.reviewId = reviewId;
+        this.problemId = problemId;
+        this.problemName = problemName;
+        this.nextReviewDate = nextReviewDate;
+        this.repetitions = repetitions != null ? repetitions : 0;
+    }
+}
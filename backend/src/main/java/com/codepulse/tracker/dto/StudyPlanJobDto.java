@@ -0,0 +1,25 @@
+package com.codepulse.tracker.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * State of an asynchronous study plan generation. Once {@code status} is {@code completed} the new
+ * plan is available from {@code /api/study-plan/latest}; until then the previous plan is served.
+ */
+@Data
+public class StudyPlanJobDto {
+    private String id;
+    private Status status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Integer days;
+    private Integer problems;
+    private String error;
+
+    public enum Status {
+        queued, running, completed, failed
+    }
+}
@@ -19,4 +19,7 @@ public class StudyPlanRequest {
 
     // List of topic names or IDs
     private List<String> topics;
+
+    // Optional seed for problem selection; the same seed and catalog yield the same plan
+    private Long seed;
 }
\ No newline at end of file
@@ -5,12 +5,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
-@Table(name = "daily_tasks")
+@Table(name = "daily_tasks", indexes = @Index(name = "idx_daily_tasks_plan_day", columnList = "study_plan_id, day_number"))
 @Data
 public class DailyTask {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_tasks_seq")
+    @SequenceGenerator(name = "daily_tasks_seq", sequenceName = "daily_tasks_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
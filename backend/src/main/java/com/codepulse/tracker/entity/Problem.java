@@ -5,14 +5,18 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Entity
-@Table(name = "problems")
+@Table(name = "problems", indexes = {
+        @Index(name = "idx_problems_difficulty_sample_key", columnList = "difficulty, sample_key")
+})
 @Data
 public class Problem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "problems_seq")
+    @SequenceGenerator(name = "problems_seq", sequenceName = "problems_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -42,6 +46,11 @@ public class Problem {
     @Column(name = "created_at", updatable = false)
     private Instant createdAt = Instant.now();
 
+    // Uniform random key in [0, 1) used to sample problems inside the database.
+    // See ProblemRepositoryCustom#sample.
+    @Column(name = "sample_key")
+    private Double sampleKey = ThreadLocalRandom.current().nextDouble();
+
     public enum Difficulty {
         Easy, Medium, Hard
     }
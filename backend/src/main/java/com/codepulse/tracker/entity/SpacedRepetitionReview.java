@@ -7,24 +7,40 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "spaced_repetition_reviews")
+@Table(name = "spaced_repetition_reviews", indexes = {
+        @Index(name = "idx_reviews_user_next_review", columnList = "user_id, next_review_date, id")
+})
 @Data
 public class SpacedRepetitionReview {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "spaced_repetition_reviews_seq")
+    @SequenceGenerator(name = "spaced_repetition_reviews_seq", sequenceName = "spaced_repetition_reviews_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_problem_progress_id", nullable = false)
     private UserProblemProgress userProblemProgress;
 
+    // Denormalized from userProblemProgress so the review queue can be read from one index
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
     @Column(name = "last_reviewed_at", nullable = false)
     private Instant lastReviewedAt;
 
     @Column(name = "next_review_date", nullable = false)
     private LocalDate nextReviewDate;
 
+    // Successful reviews in a row; a failed review resets it
     @Column(name = "repetition_count", nullable = false)
     private Integer repetitionCount = 0;
+
+    // Kept by ReviewScheduler; null on reviews that were last scheduled before these columns existed
+    @Column(name = "ease_factor")
+    private Double easeFactor;
+
+    @Column(name = "interval_days")
+    private Integer intervalDays;
 }
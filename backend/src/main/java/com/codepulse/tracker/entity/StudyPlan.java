@@ -9,12 +9,15 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "study_plans")
+@Table(name = "study_plans", indexes = @Index(name = "idx_study_plans_user", columnList = "user_id, id"))
 @Data
 public class StudyPlan {
 
+    // Not pooled: the latest plan is the one with the highest id, so ids must follow creation order across instances.
+    // Plans are inserted one per request, so pooling would save nothing.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_plan_ids_seq")
+    @SequenceGenerator(name = "study_plan_ids_seq", sequenceName = "study_plan_ids_seq", allocationSize = 1)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -11,7 +11,8 @@ import java.util.List;
 public class Topic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_seq")
+    @SequenceGenerator(name = "topics_seq", sequenceName = "topics_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, unique = true, length = 100)
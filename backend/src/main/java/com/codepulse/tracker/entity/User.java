@@ -1,5 +1,7 @@
 package com.codepulse.tracker.entity;
 
+import com.codepulse.tracker.security.UserCacheEvictionListener;
+import com.codepulse.tracker.security.UserPrincipal;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,11 +14,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 @Data
-public class User implements UserDetails {
+public class User implements UserDetails, UserPrincipal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 255)
@@ -13,7 +13,8 @@ import java.time.Instant;
 public class UserProblemProgress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_problem_progress_seq")
+    @SequenceGenerator(name = "user_problem_progress_seq", sequenceName = "user_problem_progress_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -35,9 +36,6 @@ public class UserProblemProgress {
     @Column(name = "updated_at")
     private Instant updatedAt = Instant.now();
 
-    @OneToOne(mappedBy = "userProblemProgress", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private SpacedRepetitionReview review;
-
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
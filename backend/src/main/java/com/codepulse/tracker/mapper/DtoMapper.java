@@ -1,13 +1,21 @@
 package com.codepulse.tracker.mapper;
 
+import com.codepulse.tracker.catalog.ProblemCatalog;
+import com.codepulse.tracker.dto.CompactPlanDto;
+import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.dto.PlanTaskRow;
 import com.codepulse.tracker.dto.ProblemDto;
-import com.codepulse.tracker.dto.SpacedRepetitionDto;
 import com.codepulse.tracker.dto.UserDto;
 import com.codepulse.tracker.entity.Problem;
-import com.codepulse.tracker.entity.SpacedRepetitionReview;
 import com.codepulse.tracker.entity.User;
 import com.codepulse.tracker.entity.UserProblemProgress;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
 /**
  * Utility class to map between Entity objects and Data Transfer Objects (DTOs).
  */
@@ -31,7 +39,53 @@ public class DtoMapper {
         dto.setLeetcodeId(problem.getLeetcodeId());
         dto.setCustomLink(problem.getCustomLink());
         dto.setCustom(problem.isCustom());
+        applyProgress(dto, progress);
+        return dto;
+    }
+
+    public static ProblemDto toProblemDto(ProblemCatalog.Entry entry, UserProblemProgress progress) {
+        ProblemDto dto = new ProblemDto();
+        dto.setId(entry.getId());
+        dto.setName(entry.getName());
+        dto.setDifficulty(entry.getDifficulty());
+        dto.setTopic(entry.getTopic() != null ? entry.getTopic() : "General");
+        dto.setLeetcodeId(entry.getLeetcodeId());
+        dto.setCustomLink(entry.getCustomLink());
+        dto.setCustom(false);
+        applyProgress(dto, progress);
+        return dto;
+    }
+
+    /**
+     * Maps a problem through the in-memory catalog when it is part of it, so that no lazy
+     * association of the entity is touched. Custom problems fall back to the entity itself.
+     */
+    public static ProblemDto toProblemDto(ProblemCatalog catalog, Problem problem, UserProblemProgress progress) {
+        return catalog.find(problem.getId())
+                .map(entry -> toProblemDto(entry, progress))
+                .orElseGet(() -> toProblemDto(problem, progress));
+    }
+
+    public static ProblemDto toProblemDto(PlanTaskRow row) {
+        ProblemDto dto = new ProblemDto();
+        dto.setId(row.getProblemId());
+        dto.setName(row.getName());
+        dto.setDifficulty(row.getDifficulty());
+        dto.setTopic(row.getTopic() != null ? row.getTopic() : "General");
+        dto.setLeetcodeId(row.getLeetcodeId());
+        dto.setCustomLink(row.getCustomLink());
+        dto.setCustom(row.isCustom());
+        if (row.getStatus() != null) {
+            dto.setStatus(row.getStatus().name());
+            dto.setNotes(row.getNotes());
+        } else {
+            dto.setStatus(UserProblemProgress.Status.pending.name());
+            dto.setNotes("");
+        }
+        return dto;
+    }
 
+    private static void applyProgress(ProblemDto dto, UserProblemProgress progress) {
         if (progress != null) {
             dto.setStatus(progress.getStatus().name());
             dto.setNotes(progress.getNotes());
@@ -39,16 +93,78 @@ public class DtoMapper {
             dto.setStatus(UserProblemProgress.Status.pending.name());
             dto.setNotes("");
         }
-        return dto;
     }
 
-    public static SpacedRepetitionDto toSpacedRepetitionDto(SpacedRepetitionReview review) {
-        SpacedRepetitionDto dto = new SpacedRepetitionDto();
-        dto.setProblemId(review.getUserProblemProgress().getProblem().getId());
-        dto.setProblemName(review.getUserProblemProgress().getProblem().getName());
-        dto.setNextReviewDate(review.getNextReviewDate());
-        dto.setRepetitions(review.getRepetitionCount());
-        return dto;
+    /**
+     * Folds the days of a plan into the normalized {@link CompactPlanDto}. Notes are dropped unless {@code includeNotes}.
+     */
+    public static CompactPlanDto toCompactPlan(List<DailyPlanDto> days, boolean includeNotes) {
+        CompactPlanDto plan = new CompactPlanDto();
+        Map<String, Integer> topicIndex = new HashMap<>();
+        for (DailyPlanDto day : days) {
+            List<Long> problemIds = new ArrayList<>(day.getProblems().size());
+            for (ProblemDto problem : day.getProblems()) {
+                problemIds.add(problem.getId());
+                plan.getProblems().computeIfAbsent(problem.getId(), id -> {
+                    CompactPlanDto.ProblemEntry entry = new CompactPlanDto.ProblemEntry();
+                    entry.setName(problem.getName());
+                    entry.setDifficulty(problem.getDifficulty());
+                    entry.setTopic(indexOfTopic(plan, topicIndex, problem.getTopic()));
+                    entry.setStatus(problem.getStatus());
+                    entry.setLeetcodeId(problem.getLeetcodeId());
+                    entry.setCustomLink(problem.getCustomLink());
+                    entry.setCustom(problem.isCustom());
+                    if (includeNotes) {
+                        entry.setNotes(problem.getNotes());
+                    }
+                    return entry;
+                });
+            }
+            plan.getDays().add(new CompactPlanDto.Day(day.getDay(), day.getDate(), problemIds));
+        }
+        return plan;
+    }
+
+    /**
+     * Builds the {@link CompactPlanDto} straight from the rows of a plan, ordered by day, without mapping
+     * every task to a {@link ProblemDto} first. Notes are dropped unless {@code includeNotes}.
+     */
+    public static CompactPlanDto toCompactPlan(List<PlanTaskRow> rows, IntFunction<String> dateOfDay, boolean includeNotes) {
+        CompactPlanDto plan = new CompactPlanDto();
+        Map<String, Integer> topicIndex = new HashMap<>();
+        CompactPlanDto.Day day = null;
+        for (PlanTaskRow row : rows) {
+            // Rows arrive ordered by day, so a new day number starts the next day
+            if (day == null || day.getDay() != row.getDayNumber()) {
+                day = new CompactPlanDto.Day(row.getDayNumber(), dateOfDay.apply(row.getDayNumber()), new ArrayList<>());
+                plan.getDays().add(day);
+            }
+            day.getProblems().add(row.getProblemId());
+            plan.getProblems().computeIfAbsent(row.getProblemId(), id -> {
+                CompactPlanDto.ProblemEntry entry = new CompactPlanDto.ProblemEntry();
+                entry.setName(row.getName());
+                entry.setDifficulty(row.getDifficulty());
+                entry.setTopic(indexOfTopic(plan, topicIndex, row.getTopic() != null ? row.getTopic() : "General"));
+                entry.setLeetcodeId(row.getLeetcodeId());
+                entry.setCustomLink(row.getCustomLink());
+                entry.setCustom(row.isCustom());
+                if (row.getStatus() != null) {
+                    entry.setStatus(row.getStatus().name());
+                    entry.setNotes(includeNotes ? row.getNotes() : null);
+                } else {
+                    entry.setStatus(UserProblemProgress.Status.pending.name());
+                    entry.setNotes(includeNotes ? "" : null);
+                }
+                return entry;
+            });
+        }
+        return plan;
     }
-}
 
+    private static int indexOfTopic(CompactPlanDto plan, Map<String, Integer> topicIndex, String topic) {
+        return topicIndex.computeIfAbsent(topic, name -> {
+            plan.getTopics().add(name);
+            return plan.getTopics().size() - 1;
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.codepulse.tracker.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and
+ * {@link #end()}. Registered as Hibernate's statement inspector in {@code MetricsConfig}; statements
+ * issued outside a counted scope (startup, scheduled jobs, streamed responses) are passed through untouched.
+ * Scopes nest, and a statement counts towards every open scope of its thread.
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<RequestStatements> current = new ThreadLocal<>();
+    private final Set<StatementCapture> captures = ConcurrentHashMap.newKeySet();
+
+    public void begin() {
+        current.set(new RequestStatements(current.get()));
+    }
+
+    /**
+     * Ends the innermost scope started by {@link #begin()} and returns what was counted in it.
+     */
+    public RequestStatements end() {
+        RequestStatements statements = current.get();
+        if (statements == null) {
+            return new RequestStatements(null);
+        }
+        if (statements.parent == null) {
+            current.remove();
+        } else {
+            current.set(statements.parent);
+        }
+        return statements;
+    }
+
+    /**
+     * Starts collecting the statement counts of every request completed from now on, on any thread,
+     * until the capture is closed. Meant for integration tests; see {@link StatementCapture}.
+     */
+    public StatementCapture capture() {
+        StatementCapture capture = new StatementCapture(captures::remove);
+        captures.add(capture);
+        return capture;
+    }
+
+    void completed(String route, RequestStatements statements) {
+        captures.forEach(capture -> capture.record(route, statements));
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = current.get();
+        if (statements != null) {
+            String shape = shapeOf(sql);
+            for (RequestStatements scope = statements; scope != null; scope = scope.parent) {
+                scope.add(shape);
+            }
+        }
+        return sql;
+    }
+
+    static String shapeOf(String sql) {
+        return PARAMETER_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("(?)");
+    }
+}
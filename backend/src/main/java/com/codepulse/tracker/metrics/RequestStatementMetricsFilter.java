@@ -0,0 +1,82 @@
+package com.codepulse.tracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many statements each request sent to the database as {@code codepulse.http.sql.statements},
+ * tagged with the HTTP method and the matched route (e.g. {@code /api/problems/{problemId}/status}).
+ * Runs ahead of Spring Security so that the principal lookup is counted as part of the request.
+ * <p>
+ * Requests that exceed the statement budget, or repeat one SQL shape often enough to look like an N+1,
+ * are logged with their handler and the repeated statement.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final RequestStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${codepulse.sql.statement-budget:10}")
+    private int statementBudget;
+
+    @Value("${codepulse.sql.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements statements = statementCounter.end();
+            // Unmatched requests (404s, rejected tokens) share one tag value so that paths cannot blow up the series count
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = route != null ? route.toString() : "UNKNOWN";
+            DistributionSummary.builder("codepulse.http.sql.statements")
+                    .description("SQL statements issued while serving a request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.total());
+            statementCounter.completed(request.getMethod() + " " + uri, statements);
+            checkBudget(request, uri, statements);
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, String uri, RequestStatements statements) {
+        RequestStatements.Repeated repeated = statements.mostRepeated();
+        boolean overBudget = statements.total() > statementBudget;
+        boolean nPlusOne = repeated != null && repeated.count() >= repeatedStatementThreshold;
+        if (!overBudget && !nPlusOne) {
+            return;
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        String handlerName = handler instanceof HandlerMethod method
+                ? method.getBeanType().getSimpleName() + "#" + method.getMethod().getName()
+                : String.valueOf(handler);
+        log.warn("{} {} ({}) issued {} SQL statements (budget {}); most repeated, {}x: {}",
+                request.getMethod(), uri, handlerName, statements.total(), statementBudget,
+                repeated.count(), repeated.sql());
+    }
+}
@@ -0,0 +1,45 @@
+package com.codepulse.tracker.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The statements Hibernate prepared during one counted scope, grouped by SQL shape. A shape is the
+ * statement text with whitespace collapsed and IN lists reduced to one placeholder, so the same query
+ * issued once per loaded entity (an N+1) shows up as one shape with a high count.
+ */
+public class RequestStatements {
+
+    final RequestStatements parent;
+    private final Map<String, Integer> countByShape = new HashMap<>();
+    private int total;
+
+    RequestStatements(RequestStatements parent) {
+        this.parent = parent;
+    }
+
+    void add(String shape) {
+        total++;
+        countByShape.merge(shape, 1, Integer::sum);
+    }
+
+    public int total() {
+        return total;
+    }
+
+    /**
+     * The shape issued most often in this scope, or {@code null} when no statement was issued.
+     */
+    public Repeated mostRepeated() {
+        Repeated most = null;
+        for (Map.Entry<String, Integer> entry : countByShape.entrySet()) {
+            if (most == null || entry.getValue() > most.count()) {
+                most = new Repeated(entry.getKey(), entry.getValue());
+            }
+        }
+        return most;
+    }
+
+    public record Repeated(String sql, int count) {
+    }
+}
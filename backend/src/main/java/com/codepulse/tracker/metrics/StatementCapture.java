@@ -0,0 +1,99 @@
+package com.codepulse.tracker.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Statement counts of the requests completed while the capture is open, keyed by route
+ * ({@code "GET /api/problems/dashboard-stats"}). Works for MockMvc as well as real HTTP requests:
+ * <pre>{@code
+ * try (StatementCapture capture = statementCounter.capture()) {
+ *     mockMvc.perform(get("/api/problems/dashboard-stats").header("Authorization", jwt));
+ *     capture.assertAtMost("GET /api/problems/dashboard-stats", 3);
+ * }
+ * }</pre>
+ * Only statements prepared by Hibernate are counted; JdbcTemplate bulk operations are not.
+ */
+public class StatementCapture implements AutoCloseable {
+
+    private final Map<String, RouteStatements> byRoute = new ConcurrentHashMap<>();
+    private final Consumer<StatementCapture> onClose;
+
+    StatementCapture(Consumer<StatementCapture> onClose) {
+        this.onClose = onClose;
+    }
+
+    void record(String route, RequestStatements statements) {
+        byRoute.computeIfAbsent(route, key -> new RouteStatements()).record(statements);
+    }
+
+    public int requests(String route) {
+        RouteStatements statements = byRoute.get(route);
+        return statements == null ? 0 : statements.requests;
+    }
+
+    /**
+     * The most statements any single request of the route issued.
+     */
+    public int maxStatements(String route) {
+        RouteStatements statements = byRoute.get(route);
+        return statements == null ? 0 : statements.maxTotal;
+    }
+
+    /**
+     * Fails unless the route was requested and no request of it issued more than {@code budget} statements.
+     */
+    public StatementCapture assertAtMost(String route, int budget) {
+        RouteStatements statements = requested(route);
+        if (statements.maxTotal > budget) {
+            throw new AssertionError(route + " issued " + statements.maxTotal + " SQL statements, budget is " + budget
+                    + describe(statements.worstRepeated));
+        }
+        return this;
+    }
+
+    /**
+     * Fails unless the route was requested and no request of it issued the same SQL shape more than {@code times} times.
+     */
+    public StatementCapture assertRepeatedAtMost(String route, int times) {
+        RouteStatements statements = requested(route);
+        if (statements.worstRepeated != null && statements.worstRepeated.count() > times) {
+            throw new AssertionError(route + " repeated a statement more than " + times + " times"
+                    + describe(statements.worstRepeated));
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        onClose.accept(this);
+    }
+
+    private RouteStatements requested(String route) {
+        RouteStatements statements = byRoute.get(route);
+        if (statements == null) {
+            throw new AssertionError("No request to " + route + " was captured; captured routes: " + byRoute.keySet());
+        }
+        return statements;
+    }
+
+    private static String describe(RequestStatements.Repeated repeated) {
+        return repeated == null ? "" : "; most repeated, " + repeated.count() + "x: " + repeated.sql();
+    }
+
+    private static class RouteStatements {
+        private volatile int requests;
+        private volatile int maxTotal;
+        private volatile RequestStatements.Repeated worstRepeated;
+
+        synchronized void record(RequestStatements statements) {
+            requests++;
+            maxTotal = Math.max(maxTotal, statements.total());
+            RequestStatements.Repeated repeated = statements.mostRepeated();
+            if (repeated != null && (worstRepeated == null || repeated.count() > worstRepeated.count())) {
+                worstRepeated = repeated;
+            }
+        }
+    }
+}
@@ -1,9 +1,35 @@
 package com.codepulse.tracker.repository;
 
+import com.codepulse.tracker.dto.PlanTaskRow;
 import com.codepulse.tracker.entity.DailyTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface DailyTaskRepository extends JpaRepository<DailyTask, Long> {
-}
\ No newline at end of file
+public interface DailyTaskRepository extends JpaRepository<DailyTask, Long>, DailyTaskRepositoryCustom {
+
+    String LATEST_PLAN_ROWS = "SELECT new com.codepulse.tracker.dto.PlanTaskRow(t.dayNumber, pr.id, pr.name, pr.difficulty, tp.name, " +
+            "pr.leetcodeId, pr.customLink, pr.isCustom, p.status, p.notes) " +
+            "FROM DailyTask t JOIN t.problem pr LEFT JOIN pr.topic tp " +
+            "LEFT JOIN UserProblemProgress p ON p.problem = pr AND p.user.id = :userId " +
+            "WHERE t.studyPlan.id = (SELECT MAX(sp.id) FROM StudyPlan sp WHERE sp.user.id = :userId) " +
+            "AND t.dayNumber BETWEEN :fromDay AND :toDay " +
+            "ORDER BY t.dayNumber, t.id";
+
+    // The tasks of the user's latest plan within a day range, joined with problem, topic and only the
+    // matching progress rows, in day order. Served by idx_daily_tasks_plan_day.
+    @Query(LATEST_PLAN_ROWS)
+    List<PlanTaskRow> findLatestPlanRows(Long userId, int fromDay, int toDay);
+
+    // Same rows read through a database cursor; must be consumed inside a transaction.
+    @Query(LATEST_PLAN_ROWS)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    Stream<PlanTaskRow> streamLatestPlanRows(Long userId, int fromDay, int toDay);
+}
@@ -0,0 +1,15 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.entity.DailyTask;
+
+import java.util.List;
+
+/**
+ * JDBC-backed bulk operations for {@link DailyTask}.
+ */
+public interface DailyTaskRepositoryCustom {
+
+    // Inserts all tasks of a plan in a single JDBC batch. The tasks are not attached
+    // to the persistence context and their ids are left unset.
+    void batchInsert(Long studyPlanId, List<DailyTask> tasks);
+}
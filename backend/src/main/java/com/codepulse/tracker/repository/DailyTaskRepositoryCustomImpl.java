@@ -0,0 +1,31 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.entity.DailyTask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class DailyTaskRepositoryCustomImpl implements DailyTaskRepositoryCustom {
+
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO daily_tasks (id, study_plan_id, problem_id, day_number) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(Long studyPlanId, List<DailyTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        long[] ids = SequenceIds.next(jdbcTemplate, "daily_tasks_seq", tasks.size());
+        List<Object[]> rows = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            DailyTask task = tasks.get(i);
+            rows.add(new Object[]{ids[i], studyPlanId, task.getProblem().getId(), task.getDayNumber()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TASK_SQL, rows);
+    }
+}
@@ -2,14 +2,23 @@ package com.codepulse.tracker.repository;
 
 import com.codepulse.tracker.entity.Problem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import com.codepulse.tracker.entity.Topic;
-
 
 @Repository
-public interface ProblemRepository extends JpaRepository<Problem, Long> {
-    List<Problem> findByDifficultyAndTopicIn(Problem.Difficulty difficulty, List<Topic> topics);
-    List<Problem> findByDifficulty(Problem.Difficulty difficulty);
+public interface ProblemRepository extends JpaRepository<Problem, Long>, ProblemRepositoryCustom {
+
+    // Loads the built-in catalog in one query; used to (re)build the in-memory ProblemCatalog.
+    @Query("SELECT p FROM Problem p LEFT JOIN FETCH p.topic WHERE p.isCustom = false")
+    List<Problem> findAllBuiltInWithTopic();
+
+    // Rows created before the sample_key column existed have no key and are invisible to sampling.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE problems SET sample_key = random() WHERE sample_key IS NULL", nativeQuery = true)
+    int assignMissingSampleKeys();
 }
\ No newline at end of file
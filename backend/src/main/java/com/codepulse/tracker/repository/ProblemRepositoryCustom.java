@@ -0,0 +1,23 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.Topic;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Database-side sampling of problems.
+ */
+public interface ProblemRepositoryCustom {
+
+    /**
+     * Picks up to {@code count} built-in (non-custom) problems of the given difficulty, optionally restricted to a set of topics.
+     * Problems are read in {@code sample_key} order starting at {@code startKey} and wrapping around to 0,
+     * so the same start key always yields the same sample and only {@code count} rows leave the database.
+     *
+     * @param topics   topics to restrict to, or an empty collection for all topics
+     * @param startKey a value in [0, 1), usually drawn from a seeded random
+     */
+    List<Problem> sample(Problem.Difficulty difficulty, Collection<Topic> topics, int count, double startKey);
+}
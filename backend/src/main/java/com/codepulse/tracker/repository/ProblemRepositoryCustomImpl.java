@@ -0,0 +1,49 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.Topic;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class ProblemRepositoryCustomImpl implements ProblemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Problem> sample(Problem.Difficulty difficulty, Collection<Topic> topics, int count, double startKey) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Both halves are range scans over the (difficulty, sample_key) index with a LIMIT.
+        List<Problem> sample = new ArrayList<>(sampleRange(difficulty, topics, ">=", startKey, count));
+        if (sample.size() < count) {
+            sample.addAll(sampleRange(difficulty, topics, "<", startKey, count - sample.size()));
+        }
+        return sample;
+    }
+
+    private List<Problem> sampleRange(Problem.Difficulty difficulty, Collection<Topic> topics,
+                                      String operator, double startKey, int limit) {
+        String jpql = "SELECT p FROM Problem p LEFT JOIN FETCH p.topic"
+                + " WHERE p.difficulty = :difficulty AND p.isCustom = false"
+                + (topics.isEmpty() ? "" : " AND p.topic IN :topics")
+                + " AND p.sampleKey " + operator + " :startKey"
+                + " ORDER BY p.sampleKey";
+
+        TypedQuery<Problem> query = entityManager.createQuery(jpql, Problem.class)
+                .setParameter("difficulty", difficulty)
+                .setParameter("startKey", startKey)
+                .setMaxResults(limit);
+        if (!topics.isEmpty()) {
+            query.setParameter("topics", topics);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.codepulse.tracker.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Draws ids for rows inserted over JDBC from the same sequences the entities use. The sequences step by
+ * {@link #ALLOCATION_SIZE} and are read with Hibernate's pooled-lo optimizer, so every value handed out
+ * by {@code nextval} reserves the block {@code [value, value + ALLOCATION_SIZE)} for its caller.
+ */
+public final class SequenceIds {
+
+    // Must match allocationSize of the entities' @SequenceGenerator
+    public static final int ALLOCATION_SIZE = 50;
+
+    private SequenceIds() {
+    }
+
+    static long[] next(JdbcTemplate jdbcTemplate, String sequence, int count) {
+        int blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(
+                "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = blockStarts.get(i / ALLOCATION_SIZE) + i % ALLOCATION_SIZE;
+        }
+        return ids;
+    }
+}
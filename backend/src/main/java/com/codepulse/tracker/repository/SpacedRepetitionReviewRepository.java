@@ -2,17 +2,39 @@ package com.codepulse.tracker.repository;
 
 import com.codepulse.tracker.entity.SpacedRepetitionReview;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SpacedRepetitionReviewRepository extends JpaRepository<SpacedRepetitionReview, Long> {
+public interface SpacedRepetitionReviewRepository extends JpaRepository<SpacedRepetitionReview, Long>, SpacedRepetitionReviewRepositoryCustom {
 
     Optional<SpacedRepetitionReview> findByUserProblemProgressId(Long userProblemProgressId);
 
-    @Query("SELECT r FROM SpacedRepetitionReview r WHERE r.userProblemProgress.user.id = :userId")
-    List<SpacedRepetitionReview> findAllByUserId(Long userId);
+    List<SpacedRepetitionReview> findByUserProblemProgressIdIn(Collection<Long> userProblemProgressIds);
+
+    long countByUserId(Long userId);
+
+    // Reviews created before user_id was denormalized onto the table have no owner and are invisible to the queue.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE spaced_repetition_reviews r SET user_id = "
+            + "(SELECT p.user_id FROM user_problem_progress p WHERE p.id = r.user_problem_progress_id) "
+            + "WHERE r.user_id IS NULL", nativeQuery = true)
+    int assignMissingUserIds();
+
+    // Reviews scheduled on the old fixed ladder (1, 3, 7, 14, 30, 90 days) have no interval; the n-th repetition
+    // was scheduled with the n-th step, so SM-2 carries on from the interval the review is actually on.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE spaced_repetition_reviews SET interval_days = CASE "
+            + "WHEN repetition_count <= 1 THEN 1 WHEN repetition_count = 2 THEN 3 WHEN repetition_count = 3 THEN 7 "
+            + "WHEN repetition_count = 4 THEN 14 WHEN repetition_count = 5 THEN 30 ELSE 90 END "
+            + "WHERE interval_days IS NULL", nativeQuery = true)
+    int assignMissingIntervals();
 }
@@ -0,0 +1,22 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.dto.SpacedRepetitionDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Projection-based reads of the spaced repetition queue.
+ */
+public interface SpacedRepetitionReviewRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} reviews of the user ordered by (next review date, review id), served
+     * by the (user_id, next_review_date, id) index.
+     *
+     * @param dueOnOrBefore only reviews due on or before this date, or null for all
+     * @param afterDate     keyset cursor: the next review date of the last row of the previous page, or null
+     * @param afterId       keyset cursor: the review id of the last row of the previous page; used with afterDate
+     */
+    List<SpacedRepetitionDto> findQueue(Long userId, LocalDate dueOnOrBefore, LocalDate afterDate, Long afterId, int limit);
+}
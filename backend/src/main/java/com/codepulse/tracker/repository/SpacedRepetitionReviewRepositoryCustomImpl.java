@@ -0,0 +1,39 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.dto.SpacedRepetitionDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SpacedRepetitionReviewRepositoryCustomImpl implements SpacedRepetitionReviewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SpacedRepetitionDto> findQueue(Long userId, LocalDate dueOnOrBefore, LocalDate afterDate, Long afterId, int limit) {
+        boolean hasCursor = afterDate != null && afterId != null;
+        String jpql = "SELECT new com.codepulse.tracker.dto.SpacedRepetitionDto("
+                + "r.id, pr.id, pr.name, r.nextReviewDate, r.repetitionCount)"
+                + " FROM SpacedRepetitionReview r JOIN r.userProblemProgress p JOIN p.problem pr"
+                + " WHERE r.user.id = :userId"
+                + (dueOnOrBefore != null ? " AND r.nextReviewDate <= :dueOnOrBefore" : "")
+                + (hasCursor ? " AND (r.nextReviewDate > :afterDate OR (r.nextReviewDate = :afterDate AND r.id > :afterId))" : "")
+                + " ORDER BY r.nextReviewDate, r.id";
+
+        TypedQuery<SpacedRepetitionDto> query = entityManager.createQuery(jpql, SpacedRepetitionDto.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (dueOnOrBefore != null) {
+            query.setParameter("dueOnOrBefore", dueOnOrBefore);
+        }
+        if (hasCursor) {
+            query.setParameter("afterDate", afterDate);
+            query.setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,25 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.entity.StudyPlan;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC-backed bulk removal of {@link StudyPlan}s. Each plan is removed together with its daily tasks
+ * and topic links by a fixed number of set-based DELETEs, regardless of plan length. The removed rows
+ * are not detached from the persistence context, so callers must not hold them.
+ */
+public interface StudyPlanRepositoryCustom {
+
+    // Locks the user's row until the transaction ends, so that plan replacements of one user run one at a time.
+    void lockPlansOf(Long userId);
+
+    // Removes every plan of the user except the given one.
+    int deleteOtherPlans(Long userId, Long keepPlanId);
+
+    // Ids of plans that have been replaced by a newer plan of the same user, oldest first.
+    List<Long> findSupersededPlanIds(int limit);
+
+    int deletePlans(Collection<Long> planIds);
+}
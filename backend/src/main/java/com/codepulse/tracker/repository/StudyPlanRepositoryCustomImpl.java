@@ -0,0 +1,64 @@
+package com.codepulse.tracker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class StudyPlanRepositoryCustomImpl implements StudyPlanRepositoryCustom {
+
+    private static final String OTHER_PLANS = "SELECT id FROM study_plans WHERE user_id = ? AND id <> ?";
+
+    private static final String DELETE_OTHER_TASKS_SQL =
+            "DELETE FROM daily_tasks WHERE study_plan_id IN (" + OTHER_PLANS + ")";
+    private static final String DELETE_OTHER_TOPIC_LINKS_SQL =
+            "DELETE FROM study_plan_topics WHERE study_plan_id IN (" + OTHER_PLANS + ")";
+    private static final String DELETE_OTHER_PLANS_SQL =
+            "DELETE FROM study_plans WHERE user_id = ? AND id <> ?";
+
+    private static final String SUPERSEDED_PLAN_IDS_SQL =
+            "SELECT sp.id FROM study_plans sp " +
+            "WHERE sp.id < (SELECT MAX(latest.id) FROM study_plans latest WHERE latest.user_id = sp.user_id) " +
+            "ORDER BY sp.id LIMIT ?";
+
+    private static final String DELETE_TASKS_SQL = "DELETE FROM daily_tasks WHERE study_plan_id IN (:ids)";
+    private static final String DELETE_TOPIC_LINKS_SQL = "DELETE FROM study_plan_topics WHERE study_plan_id IN (:ids)";
+    private static final String DELETE_PLANS_SQL = "DELETE FROM study_plans WHERE id IN (:ids)";
+
+    private static final String LOCK_USER_SQL = "SELECT id FROM users WHERE id = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public void lockPlansOf(Long userId) {
+        jdbcTemplate.queryForList(LOCK_USER_SQL, Long.class, userId);
+    }
+
+    @Override
+    public int deleteOtherPlans(Long userId, Long keepPlanId) {
+        jdbcTemplate.update(DELETE_OTHER_TASKS_SQL, userId, keepPlanId);
+        jdbcTemplate.update(DELETE_OTHER_TOPIC_LINKS_SQL, userId, keepPlanId);
+        return jdbcTemplate.update(DELETE_OTHER_PLANS_SQL, userId, keepPlanId);
+    }
+
+    @Override
+    public List<Long> findSupersededPlanIds(int limit) {
+        return jdbcTemplate.queryForList(SUPERSEDED_PLAN_IDS_SQL, Long.class, limit);
+    }
+
+    @Override
+    public int deletePlans(Collection<Long> planIds) {
+        if (planIds.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> params = Map.of("ids", planIds);
+        namedParameterJdbcTemplate.update(DELETE_TASKS_SQL, params);
+        namedParameterJdbcTemplate.update(DELETE_TOPIC_LINKS_SQL, params);
+        return namedParameterJdbcTemplate.update(DELETE_PLANS_SQL, params);
+    }
+}
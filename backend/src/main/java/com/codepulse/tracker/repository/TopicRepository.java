@@ -4,10 +4,13 @@ package com.codepulse.tracker.repository;
 import com.codepulse.tracker.entity.Topic;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Integer> {
     Optional<Topic> findByName(String name);
+    List<Topic> findByNameIn(Collection<String> names);
 }
\ No newline at end of file
@@ -15,20 +15,37 @@
 
 package com.codepulse.tracker.repository;
 
+import com.codepulse.tracker.dto.DashboardStatsDto;
 import com.codepulse.tracker.entity.UserProblemProgress;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserProblemProgressRepository extends JpaRepository<UserProblemProgress, Long> {
+public interface UserProblemProgressRepository extends JpaRepository<UserProblemProgress, Long>, UserProblemProgressRepositoryCustom {
     Optional<UserProblemProgress> findByUserIdAndProblemId(Long userId, Long problemId);
     List<UserProblemProgress> findAllByUserId(Long userId);
 
     // --- NEW METHOD ---
     // Finds all progress records for a given user that match a list of problem IDs.
     // This is crucial for fetching stats for only the current plan.
-    List<UserProblemProgress> findByUserIdAndProblemIdIn(Long userId, List<Long> problemIds);
+    List<UserProblemProgress> findByUserIdAndProblemIdIn(Long userId, Collection<Long> problemIds);
+
+    // Same as above, but fetches the problem and its topic in the same query for building DTOs.
+    @EntityGraph(attributePaths = {"problem", "problem.topic"})
+    @Query("SELECT p FROM UserProblemProgress p WHERE p.user.id = :userId AND p.problem.id IN :problemIds")
+    List<UserProblemProgress> findWithProblemByUserIdAndProblemIdIn(Long userId, Collection<Long> problemIds);
+
+    // Total and completed progress counts per difficulty, aggregated in a single query.
+    // Difficulties without any progress are absent from the result.
+    @Query("SELECT new com.codepulse.tracker.dto.DashboardStatsDto$DifficultyStats(pr.difficulty, COUNT(p), " +
+            "SUM(CASE WHEN p.status = :completed THEN 1 ELSE 0 END)) " +
+            "FROM UserProblemProgress p JOIN p.problem pr " +
+            "WHERE p.user.id = :userId GROUP BY pr.difficulty")
+    List<DashboardStatsDto.DifficultyStats> countByDifficulty(Long userId, UserProblemProgress.Status completed);
 }
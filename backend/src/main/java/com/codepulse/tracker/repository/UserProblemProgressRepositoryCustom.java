@@ -0,0 +1,19 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.dto.ProgressRow;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC-backed bulk operations for {@link com.codepulse.tracker.entity.UserProblemProgress}
+ * that would otherwise cost one round trip per row through JPA.
+ */
+public interface UserProblemProgressRepositoryCustom {
+
+    // Creates a 'pending' progress row for every problem id the user has none for, and returns the user's
+    // progress for all of them, in one INSERT ... ON CONFLICT DO NOTHING statement. Safe to run concurrently
+    // for the same user: a row another transaction inserts first is skipped, not duplicated, and is then
+    // missing from the result.
+    List<ProgressRow> upsertPendingProgress(Long userId, Collection<Long> problemIds);
+}
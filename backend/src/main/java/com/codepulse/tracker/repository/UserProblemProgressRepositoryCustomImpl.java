@@ -0,0 +1,63 @@
+package com.codepulse.tracker.repository;
+
+import com.codepulse.tracker.dto.ProgressRow;
+import com.codepulse.tracker.entity.UserProblemProgress;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserProblemProgressRepositoryCustomImpl implements UserProblemProgressRepositoryCustom {
+
+    // The second SELECT runs on the statement's snapshot, so it sees the rows that existed before
+    // and none of the rows the CTE inserts; together they cover every requested problem once.
+    private static final String UPSERT_PENDING_SQL =
+            "WITH requested AS (" +
+            "    SELECT * FROM unnest(?::bigint[], ?::bigint[]) AS r(id, problem_id)" +
+            "), inserted AS (" +
+            "    INSERT INTO user_problem_progress (id, user_id, problem_id, status, updated_at)" +
+            "    SELECT r.id, ?, r.problem_id, 'pending', ? FROM requested r" +
+            "    ON CONFLICT (user_id, problem_id) DO NOTHING" +
+            "    RETURNING id, problem_id, status, notes" +
+            ") " +
+            "SELECT id, problem_id, status, notes, TRUE AS created FROM inserted " +
+            "UNION ALL " +
+            "SELECT p.id, p.problem_id, p.status, p.notes, FALSE FROM user_problem_progress p " +
+            "WHERE p.user_id = ? AND p.problem_id IN (SELECT problem_id FROM requested)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProgressRow> upsertPendingProgress(Long userId, Collection<Long> problemIds) {
+        if (problemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Ids are reserved for every requested problem; those of rows that already exist are skipped
+        long[] ids = SequenceIds.next(jdbcTemplate, "user_problem_progress_seq", problemIds.size());
+        Long[] newIds = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            newIds[i] = ids[i];
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        return jdbcTemplate.query(UPSERT_PENDING_SQL, ps -> {
+            Array idArray = ps.getConnection().createArrayOf("bigint", newIds);
+            Array problemIdArray = ps.getConnection().createArrayOf("bigint", problemIds.toArray());
+            ps.setArray(1, idArray);
+            ps.setArray(2, problemIdArray);
+            ps.setLong(3, userId);
+            ps.setTimestamp(4, now);
+            ps.setLong(5, userId);
+        }, (rs, rowNum) -> new ProgressRow(
+                rs.getLong("id"),
+                rs.getLong("problem_id"),
+                UserProblemProgress.Status.valueOf(rs.getString("status")),
+                rs.getString("notes"),
+                rs.getBoolean("created")));
+    }
+}
@@ -0,0 +1,26 @@
+package com.codepulse.tracker.review;
+
+import com.codepulse.tracker.entity.SpacedRepetitionReview;
+
+import java.time.LocalDate;
+
+/**
+ * Decides when a completed problem is reviewed next. Implementations update the scheduling fields of the
+ * review in place ({@code repetitionCount}, {@code easeFactor}, {@code intervalDays} and {@code nextReviewDate});
+ * saving it is left to the caller.
+ */
+public interface ReviewScheduler {
+
+    /**
+     * How well the problem was recalled, from forgotten ({@code again}) to effortless ({@code easy}).
+     */
+    enum Outcome {
+        again, hard, good, easy
+    }
+
+    /**
+     * Reschedules the review after a review with the given outcome. Completing a problem creates a new review
+     * and schedules it as a {@code good} outcome.
+     */
+    void schedule(SpacedRepetitionReview review, Outcome outcome, LocalDate today);
+}
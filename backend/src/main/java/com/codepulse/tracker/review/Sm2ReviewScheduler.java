@@ -0,0 +1,66 @@
+package com.codepulse.tracker.review;
+
+import com.codepulse.tracker.entity.SpacedRepetitionReview;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * SuperMemo 2: the first two successful reviews are 1 and 6 days apart, and every later interval is the previous
+ * one times the ease factor. The ease factor starts at 2.5, drops with hard recalls and grows with easy ones,
+ * but never below 1.3. A failed review ({@code again}) starts the repetitions over without resetting the ease.
+ * <p>
+ * Outcomes map to SM-2 grades as again=2, hard=3, good=4, easy=5. Intervals are capped at
+ * {@code codepulse.reviews.max-interval-days}.
+ */
+@Component
+public class Sm2ReviewScheduler implements ReviewScheduler {
+
+    static final double INITIAL_EASE = 2.5;
+    private static final double MIN_EASE = 1.3;
+
+    private final int maxIntervalDays;
+
+    public Sm2ReviewScheduler(@Value("${codepulse.reviews.max-interval-days:365}") int maxIntervalDays) {
+        this.maxIntervalDays = maxIntervalDays;
+    }
+
+    @Override
+    public void schedule(SpacedRepetitionReview review, Outcome outcome, LocalDate today) {
+        int grade = grade(outcome);
+        // Reviews written before the ease factor was stored have none; their interval is backfilled at startup
+        double ease = review.getEaseFactor() != null ? review.getEaseFactor() : INITIAL_EASE;
+        int previousInterval = review.getIntervalDays() != null ? review.getIntervalDays() : 1;
+        int repetitions = review.getRepetitionCount() != null ? review.getRepetitionCount() : 0;
+
+        int interval;
+        if (grade < 3) {
+            repetitions = 0;
+            interval = 1;
+        } else {
+            repetitions++;
+            interval = switch (repetitions) {
+                case 1 -> 1;
+                case 2 -> 6;
+                default -> (int) Math.round(previousInterval * ease);
+            };
+        }
+        interval = Math.min(interval, maxIntervalDays);
+
+        int miss = 5 - grade;
+        review.setEaseFactor(Math.max(MIN_EASE, ease + 0.1 - miss * (0.08 + miss * 0.02)));
+        review.setRepetitionCount(repetitions);
+        review.setIntervalDays(interval);
+        review.setNextReviewDate(today.plusDays(interval));
+    }
+
+    private static int grade(Outcome outcome) {
+        return switch (outcome) {
+            case again -> 2;
+            case hard -> 3;
+            case good -> 4;
+            case easy -> 5;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.codepulse.tracker.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable principal of a JWT-authenticated request. In stateless mode it is built straight from the verified
+ * claims, without touching the users table; otherwise it is a snapshot of the user row held by {@link PrincipalCache}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AuthenticatedUser implements UserPrincipal {
+
+    private final Long id;
+    private final String email;
+}
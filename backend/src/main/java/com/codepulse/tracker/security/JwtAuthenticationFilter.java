@@ -1,16 +1,18 @@
 package com.codepulse.tracker.security;
 
 
-import com.codepulse.tracker.security.JwtUtil;
+import com.codepulse.tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,7 +24,14 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
+
+    // In stateless mode the principal is built from the verified claims alone and the users table is
+    // never read. A deleted user keeps access until their token expires.
+    @Value("${codepulse.auth.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,7 +39,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final JwtClaims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -38,22 +47,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
+        Timer.Sample validation = Timer.start(meterRegistry);
         try {
-            userEmail = jwtUtil.extractUsername(jwt);
+            // Signature and expiry are verified here; the claims are parsed exactly once per request.
+            claims = jwtUtil.parseAndValidate(jwt);
+            validation.stop(meterRegistry.timer("codepulse.jwt.validation", "outcome", "valid"));
         } catch (Exception e) {
+            validation.stop(meterRegistry.timer("codepulse.jwt.validation", "outcome", "invalid"));
             // Handle invalid token
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
 
+        final String userEmail = claims.email();
+        final Long userId = claims.userId();
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (userEmail != null && userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserPrincipal principal = stateless
+                    ? new AuthenticatedUser(userId, userEmail)
+                    : principalCache.get(userId, userRepository::findById)
+                            .filter(user -> userEmail.equals(user.getEmail()))
+                            .orElse(null);
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        AuthorityUtils.NO_AUTHORITIES
                 );
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
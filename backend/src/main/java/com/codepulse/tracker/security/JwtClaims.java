@@ -0,0 +1,9 @@
+package com.codepulse.tracker.security;
+
+import java.time.Instant;
+
+/**
+ * The verified claims of a CodePulse JWT that the application actually uses.
+ */
+public record JwtClaims(Long userId, String email, Instant expiresAt) {
+}
@@ -0,0 +1,52 @@
+package com.codepulse.tracker.security;
+
+import com.codepulse.tracker.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of authenticated users keyed by user id, so that a valid JWT does not cost
+ * a users SELECT on every request. Only an immutable {@link AuthenticatedUser} is kept, never the
+ * entity or its password hash, so the cached instance can be shared by concurrent requests.
+ * Entries expire after a fixed time-to-live, the least recently used ones are evicted once the
+ * cache is full, and {@link UserCacheEvictionListener} drops an entry once a change to the user row commits.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<Long, AuthenticatedUser> cache;
+
+    public PrincipalCache(@Value("${codepulse.auth.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${codepulse.auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the cached user, loading it on a miss. Missing users are not cached.
+     */
+    public Optional<AuthenticatedUser> get(Long userId, Function<Long, Optional<User>> loader) {
+        AuthenticatedUser cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<AuthenticatedUser> loaded = loader.apply(userId)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail()));
+        loaded.ifPresent(user -> cache.put(userId, user));
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
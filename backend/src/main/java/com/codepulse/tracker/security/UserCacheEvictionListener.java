@@ -0,0 +1,39 @@
+package com.codepulse.tracker.security;
+
+import com.codepulse.tracker.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link PrincipalCache} in sync with the users table.
+ * Spring Boot lets Hibernate resolve entity listeners as Spring beans, so it can be injected.
+ * <p>
+ * The callbacks fire at flush, before the change is visible to other transactions, so the entry is only
+ * dropped once the transaction commits; dropping it earlier would let a concurrent request cache the old row again.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.evict(userId);
+                }
+            });
+        } else {
+            principalCache.evict(userId);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.codepulse.tracker.security;
+
+/**
+ * What controllers need to know about the caller. Requests authenticated by JWT carry an {@link AuthenticatedUser};
+ * the {@link com.codepulse.tracker.entity.User} entity is the principal during login.
+ */
+public interface UserPrincipal {
+
+    Long getId();
+
+    String getEmail();
+}
@@ -0,0 +1,226 @@
+package com.codepulse.tracker.service;
+
+import com.codepulse.tracker.dto.DashboardStatsDto;
+import com.codepulse.tracker.dto.SpacedRepetitionDto;
+import com.codepulse.tracker.entity.Problem;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-user snapshot of {@link DashboardStatsDto}.
+ * <p>
+ * Writes do not drop the snapshot: {@link ProblemService} and {@link StudyPlanService} report what
+ * changed and the cached copy is adjusted in place once the transaction commits. Cached instances
+ * are never mutated; every update replaces the entry with an adjusted copy. The size bound and TTL
+ * keep memory and worst-case staleness bounded.
+ * <p>
+ * A snapshot is only cached if no write of the user was in flight while it was loaded, as told by
+ * {@link UserWriteTracker}. The loader runs several queries outside a transaction, so a load that overlaps
+ * a commit may already count that write, and the write's adjustment would then be applied twice. Hit, miss and eviction counts are published as
+ * {@code cache.*} metrics tagged {@code cache=dashboardStats}.
+ */
+@Component
+public class DashboardStatsCache {
+
+    private static final Comparator<SpacedRepetitionDto> REVIEW_ORDER = Comparator
+            .comparing(SpacedRepetitionDto::getNextReviewDate)
+            .thenComparing(SpacedRepetitionDto::getReviewId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Cache<Long, DashboardStatsDto> cache;
+    private final int reviewLimit;
+    private final UserWriteTracker userWriteTracker;
+
+    public DashboardStatsCache(@Value("${codepulse.dashboard.cache.max-size:10000}") long maxSize,
+                               @Value("${codepulse.dashboard.cache.ttl:10m}") Duration ttl,
+                               @Value("${codepulse.dashboard.review-limit:50}") int reviewLimit,
+                               UserWriteTracker userWriteTracker,
+                               MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.reviewLimit = reviewLimit;
+        this.userWriteTracker = userWriteTracker;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboardStats");
+    }
+
+    public DashboardStatsDto get(Long userId, Function<Long, DashboardStatsDto> loader) {
+        DashboardStatsDto cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        String revision = userWriteTracker.revision(userId);
+        DashboardStatsDto loaded = loader.apply(userId);
+        // Checked under the entry's lock, which adjustments also take: a write that starts after the check
+        // is applied to this snapshot, and one that started earlier keeps it out of the cache
+        DashboardStatsDto current = cache.asMap().compute(userId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            boolean quiet = !userWriteTracker.writing(userId) && revision.equals(userWriteTracker.revision(userId));
+            return quiet ? loaded : null;
+        });
+        return current != null ? current : loaded;
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * A problem was marked completed; {@code review} is the review that was scheduled for it.
+     */
+    public void onCompleted(Long userId, Problem.Difficulty difficulty, SpacedRepetitionDto review) {
+        updateAfterCommit(userId, stats -> {
+            adjust(stats, difficulty, 0, 1);
+            if (!placeReview(stats, review)) {
+                stats.setSpacedRepetitionTotal(stats.getSpacedRepetitionTotal() + 1);
+            }
+            return stats;
+        });
+    }
+
+    /**
+     * An existing review was given a new next review date after a review outcome was recorded.
+     */
+    public void onRescheduled(Long userId, SpacedRepetitionDto review) {
+        updateAfterCommit(userId, stats -> {
+            List<SpacedRepetitionDto> reviews = stats.getSpacedRepetition();
+            boolean listed = reviews.stream().anyMatch(r -> r.getProblemId().equals(review.getProblemId()));
+            // A listed review that moves to the end may pass unlisted ones, which are unknown here; rebuild instead
+            if (listed && stats.getSpacedRepetitionTotal() > reviews.size()
+                    && REVIEW_ORDER.compare(review, reviews.get(reviews.size() - 1)) >= 0) {
+                return null;
+            }
+            placeReview(stats, review);
+            return stats;
+        });
+    }
+
+    /**
+     * A completed problem was reset to pending and its review, if any, was deleted.
+     */
+    public void onReopened(Long userId, Problem.Difficulty difficulty, Long problemId, boolean reviewDeleted) {
+        updateAfterCommit(userId, stats -> {
+            adjust(stats, difficulty, 0, -1);
+            if (reviewDeleted) {
+                List<SpacedRepetitionDto> reviews = new ArrayList<>(stats.getSpacedRepetition());
+                boolean listed = reviews.removeIf(r -> r.getProblemId().equals(problemId));
+                stats.setSpacedRepetitionTotal(stats.getSpacedRepetitionTotal() - 1);
+                // An unlisted review would move up into the list, but it is unknown here; rebuild instead
+                if (listed && stats.getSpacedRepetitionTotal() >= reviewLimit) {
+                    return null;
+                }
+                stats.setSpacedRepetition(reviews);
+            }
+            return stats;
+        });
+    }
+
+    /**
+     * New 'pending' progress rows were created, counted per difficulty.
+     */
+    public void onProgressAdded(Long userId, Map<Problem.Difficulty, Integer> addedByDifficulty) {
+        if (addedByDifficulty.isEmpty()) {
+            return;
+        }
+        updateAfterCommit(userId, stats -> {
+            addedByDifficulty.forEach((difficulty, added) -> adjust(stats, difficulty, added, 0));
+            return stats;
+        });
+    }
+
+    /**
+     * Moves the review to its place in the listed reviews, or drops it if it sorts after a full list.
+     * Returns whether it was listed before.
+     */
+    private boolean placeReview(DashboardStatsDto stats, SpacedRepetitionDto review) {
+        List<SpacedRepetitionDto> reviews = new ArrayList<>(stats.getSpacedRepetition());
+        boolean listed = reviews.removeIf(r -> r.getProblemId().equals(review.getProblemId()));
+        int insertAt = 0;
+        while (insertAt < reviews.size() && REVIEW_ORDER.compare(reviews.get(insertAt), review) <= 0) {
+            insertAt++;
+        }
+        // A review that sorts after a full list is only counted
+        if (insertAt < reviewLimit) {
+            reviews.add(insertAt, review);
+        }
+        stats.setSpacedRepetition(reviews.size() > reviewLimit ? reviews.subList(0, reviewLimit) : reviews);
+        return listed;
+    }
+
+    /**
+     * Applies the update to a copy of the cached snapshot after the current transaction commits.
+     * Returning null from the update evicts the snapshot.
+     */
+    private void updateAfterCommit(Long userId, UnaryOperator<DashboardStatsDto> update) {
+        Runnable apply = () -> cache.asMap().computeIfPresent(userId, (id, stats) -> update.apply(copy(stats)));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private static void adjust(DashboardStatsDto stats, Problem.Difficulty difficulty, int totalDelta, int completedDelta) {
+        DashboardStatsDto.DifficultyStats diffStats = switch (difficulty) {
+            case Easy -> stats.getEasy();
+            case Medium -> stats.getMedium();
+            case Hard -> stats.getHard();
+        };
+        diffStats.setTotal(diffStats.getTotal() + totalDelta);
+        diffStats.setCompleted(diffStats.getCompleted() + completedDelta);
+        diffStats.setPercentage(percentage(diffStats.getCompleted(), diffStats.getTotal()));
+
+        stats.setTotal(stats.getTotal() + totalDelta);
+        stats.setCompleted(stats.getCompleted() + completedDelta);
+        stats.setPercentage(percentage(stats.getCompleted(), stats.getTotal()));
+    }
+
+    private static int percentage(int completed, int total) {
+        return total > 0 ? (completed * 100) / total : 0;
+    }
+
+    private static DashboardStatsDto copy(DashboardStatsDto source) {
+        DashboardStatsDto copy = new DashboardStatsDto();
+        copy.setTotal(source.getTotal());
+        copy.setCompleted(source.getCompleted());
+        copy.setPercentage(source.getPercentage());
+        copy.setEasy(copy(source.getEasy()));
+        copy.setMedium(copy(source.getMedium()));
+        copy.setHard(copy(source.getHard()));
+        // Review entries are immutable once cached, so the list can be shared until it is modified
+        copy.setSpacedRepetition(source.getSpacedRepetition());
+        copy.setSpacedRepetitionTotal(source.getSpacedRepetitionTotal());
+        return copy;
+    }
+
+    private static DashboardStatsDto.DifficultyStats copy(DashboardStatsDto.DifficultyStats source) {
+        DashboardStatsDto.DifficultyStats copy = new DashboardStatsDto.DifficultyStats();
+        copy.setDifficulty(source.getDifficulty());
+        copy.setTotal(source.getTotal());
+        copy.setCompleted(source.getCompleted());
+        copy.setPercentage(source.getPercentage());
+        return copy;
+    }
+}
@@ -1,91 +1,196 @@
 // File: src/main/java/com/codepulse/tracker/service/ProblemService.java
 package com.codepulse.tracker.service;
 
+import com.codepulse.tracker.catalog.ProblemCatalog;
+import com.codepulse.tracker.datasource.ReadFromReplica;
 import com.codepulse.tracker.dto.*;
 import com.codepulse.tracker.entity.*;
 import com.codepulse.tracker.exception.ResourceNotFoundException;
 import com.codepulse.tracker.mapper.DtoMapper;
 import com.codepulse.tracker.repository.*;
+import com.codepulse.tracker.review.ReviewScheduler;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("codepulse.service")
 public class ProblemService {
 
     private final ProblemRepository problemRepository;
     private final UserProblemProgressRepository progressRepository;
     private final TopicRepository topicRepository;
     private final SpacedRepetitionReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final ProblemCatalog problemCatalog;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final UserWriteTracker userWriteTracker;
+    private final ReviewScheduler reviewScheduler;
 
-    private static final List<Integer> REPETITION_INTERVALS = Arrays.asList(1, 3, 7, 14, 30, 90);
+    private static final int MAX_REVIEW_PAGE_SIZE = 100;
+
+    @Value("${codepulse.dashboard.review-limit:50}")
+    private int dashboardReviewLimit;
 
     @Transactional
-    public ProblemDto toggleProblemStatus(Long problemId, User currentUser) {
-        UserProblemProgress progress = progressRepository.findByUserIdAndProblemId(currentUser.getId(), problemId)
+    public ProblemDto toggleProblemStatus(Long problemId, Long userId) {
+        userWriteTracker.recordWrite(userId);
+        UserProblemProgress progress = progressRepository.findByUserIdAndProblemId(userId, problemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress not found for this problem."));
+        SpacedRepetitionReview review = reviewRepository.findByUserProblemProgressId(progress.getId()).orElse(null);
 
-        if (progress.getStatus() == UserProblemProgress.Status.pending) {
-            progress.setStatus(UserProblemProgress.Status.completed);
-            updateSpacedRepetition(progress);
-        } else {
-            // --- THIS IS THE CORRECTED LOGIC FOR THE "UNTICK" ACTION ---
-            progress.setStatus(UserProblemProgress.Status.pending);
-
-            // 1. Find the associated review to be deleted.
-            Optional<SpacedRepetitionReview> reviewOpt = reviewRepository.findByUserProblemProgressId(progress.getId());
-
-            reviewOpt.ifPresent(review -> {
-                // 2. IMPORTANT: Break the bidirectional link before deleting.
-                // This prevents the "inconsistent state" error that causes the 500 status.
-                progress.setReview(null);
-                review.setUserProblemProgress(null);
-
-                // 3. Now it's safe to delete the review entity.
-                reviewRepository.delete(review);
-            });
-        }
+        UserProblemProgress.Status target = progress.getStatus() == UserProblemProgress.Status.pending
+                ? UserProblemProgress.Status.completed
+                : UserProblemProgress.Status.pending;
+        changeStatus(userId, progress, review, target);
 
         UserProblemProgress savedProgress = progressRepository.save(progress);
-        return DtoMapper.toProblemDto(savedProgress.getProblem(), savedProgress);
+        return DtoMapper.toProblemDto(problemCatalog, savedProgress.getProblem(), savedProgress);
+    }
+
+    /**
+     * Applies a list of status/note mutations in one transaction. All affected progress rows and their
+     * reviews are loaded with one IN query each, and the changes are flushed as JDBC batches.
+     * Mutations of the same problem are merged first, so the last status and note given win.
+     */
+    @Transactional
+    public List<ProblemDto> applyBatch(List<ProblemMutation> mutations, Long userId) {
+        userWriteTracker.recordWrite(userId);
+        Map<Long, ProblemMutation> merged = new LinkedHashMap<>();
+        for (ProblemMutation mutation : mutations) {
+            merged.merge(mutation.getProblemId(), mutation, (earlier, later) -> new ProblemMutation(
+                    later.getProblemId(),
+                    later.getStatus() != null ? later.getStatus() : earlier.getStatus(),
+                    later.getNote() != null ? later.getNote() : earlier.getNote()));
+        }
+
+        Map<Long, UserProblemProgress> progressByProblemId = progressRepository
+                .findWithProblemByUserIdAndProblemIdIn(userId, merged.keySet())
+                .stream()
+                .collect(Collectors.toMap(p -> p.getProblem().getId(), p -> p));
+        merged.keySet().stream()
+                .filter(problemId -> !progressByProblemId.containsKey(problemId))
+                .findFirst()
+                .ifPresent(problemId -> {
+                    throw new ResourceNotFoundException("Progress not found for problem " + problemId + ".");
+                });
+
+        Map<Long, SpacedRepetitionReview> reviewByProgressId = reviewRepository
+                .findByUserProblemProgressIdIn(progressByProblemId.values().stream().map(UserProblemProgress::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(r -> r.getUserProblemProgress().getId(), r -> r));
+
+        for (ProblemMutation mutation : merged.values()) {
+            UserProblemProgress progress = progressByProblemId.get(mutation.getProblemId());
+            if (mutation.getStatus() != null) {
+                changeStatus(userId, progress, reviewByProgressId.get(progress.getId()), mutation.getStatus());
+            }
+            if (mutation.getNote() != null) {
+                progress.setNotes(mutation.getNote());
+            }
+        }
+
+        // Progress rows are managed, so dirty checking flushes them as one batched UPDATE at commit
+        return merged.keySet().stream()
+                .map(progressByProblemId::get)
+                .map(progress -> DtoMapper.toProblemDto(problemCatalog, progress.getProblem(), progress))
+                .collect(Collectors.toList());
     }
 
-    // Note: This method no longer needs the boolean flag
-    private void updateSpacedRepetition(UserProblemProgress progress) {
+    /**
+     * Records how a review of a completed problem went and schedules the next one.
+     */
+    @Transactional
+    public SpacedRepetitionDto recordReview(Long problemId, ReviewScheduler.Outcome outcome, Long userId) {
+        userWriteTracker.recordWrite(userId);
+        UserProblemProgress progress = progressRepository.findByUserIdAndProblemId(userId, problemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Progress not found for this problem."));
         SpacedRepetitionReview review = reviewRepository.findByUserProblemProgressId(progress.getId())
-                .orElse(new SpacedRepetitionReview());
+                .orElseThrow(() -> new ResourceNotFoundException("No review is scheduled for this problem."));
+
+        review.setLastReviewedAt(Instant.now());
+        reviewScheduler.schedule(review, outcome, LocalDate.now());
+
+        SpacedRepetitionDto rescheduled = new SpacedRepetitionDto(review.getId(), problemId, problemName(progress),
+                review.getNextReviewDate(), review.getRepetitionCount());
+        dashboardStatsCache.onRescheduled(userId, rescheduled);
+        return rescheduled;
+    }
+
+    /**
+     * Moves the progress to the target status, scheduling or deleting its review accordingly, and
+     * keeps the cached dashboard in step. Returns the review that exists afterwards, if any.
+     */
+    private SpacedRepetitionReview changeStatus(Long userId, UserProblemProgress progress,
+                                                SpacedRepetitionReview review, UserProblemProgress.Status target) {
+        if (progress.getStatus() == target) {
+            return review;
+        }
+
+        progress.setStatus(target);
+        Long problemId = progress.getProblem().getId();
+        Problem.Difficulty difficulty = problemCatalog.find(problemId)
+                .map(ProblemCatalog.Entry::getDifficulty)
+                .orElseGet(() -> progress.getProblem().getDifficulty());
+
+        if (target == UserProblemProgress.Status.completed) {
+            SpacedRepetitionReview scheduledReview = updateSpacedRepetition(progress, review);
+            // One completed counter and one review entry change on the cached dashboard
+            dashboardStatsCache.onCompleted(userId, difficulty, new SpacedRepetitionDto(
+                    scheduledReview.getId(), problemId, problemName(progress),
+                    scheduledReview.getNextReviewDate(), scheduledReview.getRepetitionCount()));
+            return scheduledReview;
+        }
+
+        // --- THIS IS THE CORRECTED LOGIC FOR THE "UNTICK" ACTION ---
+        if (review != null) {
+            reviewRepository.delete(review);
+        }
+        dashboardStatsCache.onReopened(userId, difficulty, problemId, review != null);
+        return null;
+    }
+
+    private SpacedRepetitionReview updateSpacedRepetition(UserProblemProgress progress, SpacedRepetitionReview existingReview) {
+        SpacedRepetitionReview review = existingReview != null ? existingReview : new SpacedRepetitionReview();
 
         review.setUserProblemProgress(progress);
-        // Link the review back to the progress for consistency
-        progress.setReview(review);
+        review.setUser(progress.getUser());
 
         review.setLastReviewedAt(Instant.now());
+        // Solving the problem counts as its first successful recall
+        reviewScheduler.schedule(review, ReviewScheduler.Outcome.good, LocalDate.now());
 
-        int repetitionCount = review.getRepetitionCount() == null ? 0 : review.getRepetitionCount();
-        int interval = REPETITION_INTERVALS.get(Math.min(repetitionCount, REPETITION_INTERVALS.size() - 1));
-
-        review.setNextReviewDate(LocalDate.now().plusDays(interval));
-        review.setRepetitionCount(repetitionCount + 1);
+        return reviewRepository.save(review);
+    }
 
-        reviewRepository.save(review);
+    private String problemName(UserProblemProgress progress) {
+        return problemCatalog.find(progress.getProblem().getId())
+                .map(ProblemCatalog.Entry::getName)
+                .orElseGet(() -> progress.getProblem().getName());
     }
 
     // ... The rest of the file (addCustomProblem, updateNote, etc.) remains the same ...
     @Transactional
-    public ProblemDto addCustomProblem(CustomProblemRequest request, User currentUser) {
+    public ProblemDto addCustomProblem(CustomProblemRequest request, Long userId) {
+        userWriteTracker.recordWrite(userId);
+        // Only the foreign key is needed, so the user row itself is never loaded
+        User currentUser = userRepository.getReferenceById(userId);
         Topic topic = topicRepository.findByName(request.getTopic())
                 .orElseGet(() -> {
                     Topic newTopic = new Topic();
                     newTopic.setName(request.getTopic());
+                    // A new topic changes the catalog's topic dictionary
+                    problemCatalog.refreshAfterCommit();
                     return topicRepository.save(newTopic);
                 });
 
@@ -105,52 +210,78 @@ public class ProblemService {
         progress.setStatus(UserProblemProgress.Status.pending);
         progressRepository.save(progress);
 
+        dashboardStatsCache.onProgressAdded(userId, Map.of(request.getDifficulty(), 1));
         return DtoMapper.toProblemDto(savedProblem, progress);
     }
 
     @Transactional
-    public ProblemDto updateNote(Long problemId, String note, User currentUser) {
-        UserProblemProgress progress = progressRepository.findByUserIdAndProblemId(currentUser.getId(), problemId)
+    public ProblemDto updateNote(Long problemId, String note, Long userId) {
+        userWriteTracker.recordWrite(userId);
+        UserProblemProgress progress = progressRepository.findByUserIdAndProblemId(userId, problemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Problem progress not found"));
 
         progress.setNotes(note);
         UserProblemProgress savedProgress = progressRepository.save(progress);
+        // Notes are not part of the dashboard, so the cached dashboard stays valid
 
-        return DtoMapper.toProblemDto(savedProgress.getProblem(), savedProgress);
+        return DtoMapper.toProblemDto(problemCatalog, savedProgress.getProblem(), savedProgress);
     }
 
-    public DashboardStatsDto getDashboardStats(User currentUser) {
-        List<UserProblemProgress> progresses = progressRepository.findAllByUserId(currentUser.getId());
-        DashboardStatsDto stats = new DashboardStatsDto();
+    @ReadFromReplica("dashboard")
+    public DashboardStatsDto getDashboardStats(Long userId) {
+        return dashboardStatsCache.get(userId, this::loadDashboardStats);
+    }
 
-        stats.setTotal(progresses.size());
-        stats.setCompleted((int) progresses.stream().filter(p -> p.getStatus() == UserProblemProgress.Status.completed).count());
-        stats.setPercentage(stats.getTotal() > 0 ? (stats.getCompleted() * 100) / stats.getTotal() : 0);
+    private DashboardStatsDto loadDashboardStats(Long userId) {
+        // Counts are aggregated by the database, so the cost does not grow with the number of progress rows
+        Map<Problem.Difficulty, DashboardStatsDto.DifficultyStats> byDifficulty = progressRepository
+                .countByDifficulty(userId, UserProblemProgress.Status.completed)
+                .stream()
+                .collect(Collectors.toMap(DashboardStatsDto.DifficultyStats::getDifficulty, s -> s));
+        DashboardStatsDto stats = new DashboardStatsDto();
 
-        stats.setEasy(getDifficultyStats(progresses, Problem.Difficulty.Easy));
-        stats.setMedium(getDifficultyStats(progresses, Problem.Difficulty.Medium));
-        stats.setHard(getDifficultyStats(progresses, Problem.Difficulty.Hard));
+        stats.setEasy(getDifficultyStats(byDifficulty, Problem.Difficulty.Easy));
+        stats.setMedium(getDifficultyStats(byDifficulty, Problem.Difficulty.Medium));
+        stats.setHard(getDifficultyStats(byDifficulty, Problem.Difficulty.Hard));
 
-        List<SpacedRepetitionDto> reviews = reviewRepository.findAllByUserId(currentUser.getId())
-                .stream()
-                .map(DtoMapper::toSpacedRepetitionDto)
-                .sorted(Comparator.comparing(SpacedRepetitionDto::getNextReviewDate))
-                .collect(Collectors.toList());
+        stats.setTotal(stats.getEasy().getTotal() + stats.getMedium().getTotal() + stats.getHard().getTotal());
+        stats.setCompleted(stats.getEasy().getCompleted() + stats.getMedium().getCompleted() + stats.getHard().getCompleted());
+        stats.setPercentage(stats.getTotal() > 0 ? (stats.getCompleted() * 100) / stats.getTotal() : 0);
 
-        stats.setSpacedRepetition(reviews);
+        // Only the next few reviews are listed; they come pre-sorted from the review queue index
+        stats.setSpacedRepetition(reviewRepository.findQueue(userId, null, null, null, dashboardReviewLimit));
+        stats.setSpacedRepetitionTotal(reviewRepository.countByUserId(userId));
 
         return stats;
     }
 
-    private DashboardStatsDto.DifficultyStats getDifficultyStats(List<UserProblemProgress> progresses, Problem.Difficulty difficulty) {
-        DashboardStatsDto.DifficultyStats diffStats = new DashboardStatsDto.DifficultyStats();
-        List<UserProblemProgress> filtered = progresses.stream()
-                .filter(p -> p.getProblem().getDifficulty() == difficulty)
-                .collect(Collectors.toList());
+    @ReadFromReplica("review-queue")
+    @Transactional(readOnly = true)
+    public ReviewQueueDto getReviewQueue(Long userId, LocalDate dueOnOrBefore, LocalDate afterDate, Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_REVIEW_PAGE_SIZE));
+        List<SpacedRepetitionDto> reviews = reviewRepository.findQueue(userId, dueOnOrBefore, afterDate, afterId, pageSize);
+
+        ReviewQueueDto page = new ReviewQueueDto();
+        page.setReviews(reviews);
+        if (reviews.size() == pageSize) {
+            SpacedRepetitionDto last = reviews.get(reviews.size() - 1);
+            page.setNextAfterDate(last.getNextReviewDate());
+            page.setNextAfterId(last.getReviewId());
+        }
+        return page;
+    }
+
+    /**
+     * Pages through the reviews due today or earlier; only those rows of the review queue index are read.
+     */
+    @ReadFromReplica("review-queue")
+    @Transactional(readOnly = true)
+    public ReviewQueueDto getDueReviews(Long userId, LocalDate afterDate, Long afterId, int limit) {
+        return getReviewQueue(userId, LocalDate.now(), afterDate, afterId, limit);
+    }
 
-        diffStats.setTotal(filtered.size());
-        diffStats.setCompleted((int) filtered.stream().filter(p -> p.getStatus() == UserProblemProgress.Status.completed).count());
-        diffStats.setPercentage(diffStats.getTotal() > 0 ? (diffStats.getCompleted() * 100) / diffStats.getTotal() : 0);
-        return diffStats;
+    private DashboardStatsDto.DifficultyStats getDifficultyStats(
+            Map<Problem.Difficulty, DashboardStatsDto.DifficultyStats> byDifficulty, Problem.Difficulty difficulty) {
+        return byDifficulty.getOrDefault(difficulty, new DashboardStatsDto.DifficultyStats(difficulty, 0L, 0L));
     }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.codepulse.tracker.service;
+
+import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.dto.StudyPlanJobDto;
+import com.codepulse.tracker.dto.StudyPlanRequest;
+import com.codepulse.tracker.exception.ResourceNotFoundException;
+import com.codepulse.tracker.exception.ServiceBusyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs study plan generation off the request thread.
+ * <p>
+ * Jobs execute on a fixed-size pool with a bounded queue; when both are full new submissions are
+ * rejected instead of piling up. A user has at most one job in flight: submitting again while one
+ * is queued or running returns the existing job. Generation itself is the regular
+ * {@link StudyPlanService#createStudyPlan} transaction, so the old plan is replaced by the new one
+ * in a single commit when the job completes. Finished jobs stay queryable for a fixed time.
+ */
+@Slf4j
+@Service
+public class StudyPlanJobService {
+
+    private final StudyPlanService studyPlanService;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Job> jobs;
+    private final Map<Long, Job> activeJobsByUser = new ConcurrentHashMap<>();
+
+    public StudyPlanJobService(StudyPlanService studyPlanService,
+                               @Value("${codepulse.study-plan.jobs.threads:2}") int threads,
+                               @Value("${codepulse.study-plan.jobs.queue-capacity:100}") int queueCapacity,
+                               @Value("${codepulse.study-plan.jobs.ttl:30m}") Duration ttl) {
+        this.studyPlanService = studyPlanService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "study-plan-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public StudyPlanJobDto submit(StudyPlanRequest request, Long userId) {
+        Job newJob = new Job(UUID.randomUUID().toString(), userId);
+        Job job = activeJobsByUser.putIfAbsent(userId, newJob);
+        if (job != null) {
+            return job.toDto();
+        }
+
+        jobs.put(newJob.id, newJob);
+        try {
+            executor.execute(() -> run(newJob, request));
+        } catch (RejectedExecutionException e) {
+            activeJobsByUser.remove(userId, newJob);
+            jobs.invalidate(newJob.id);
+            throw new ServiceBusyException("Too many study plans are being generated. Please try again shortly.");
+        }
+        return newJob.toDto();
+    }
+
+    public StudyPlanJobDto getJob(String jobId, Long userId) {
+        Job job = jobs.getIfPresent(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Study plan job not found.");
+        }
+        return job.toDto();
+    }
+
+    private void run(Job job, StudyPlanRequest request) {
+        job.startedAt = Instant.now();
+        job.status = StudyPlanJobDto.Status.running;
+        StudyPlanJobDto.Status outcome = StudyPlanJobDto.Status.failed;
+        try {
+            List<DailyPlanDto> plan = studyPlanService.createStudyPlan(request, job.userId);
+            job.days = plan.size();
+            job.problems = plan.stream().mapToInt(day -> day.getProblems().size()).sum();
+            outcome = StudyPlanJobDto.Status.completed;
+        } catch (Exception e) {
+            log.warn("Study plan job {} for user {} failed", job.id, job.userId, e);
+        } finally {
+            // Also reached when an Error escapes, so the job always gets an outcome and the user's slot is freed
+            if (outcome == StudyPlanJobDto.Status.failed) {
+                job.error = "Study plan generation failed.";
+            }
+            job.finishedAt = Instant.now();
+            job.status = outcome;
+            // The user may submit again as soon as the outcome is visible
+            activeJobsByUser.remove(job.userId, job);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class Job {
+        private final String id;
+        private final Long userId;
+        private final Instant submittedAt = Instant.now();
+        private volatile StudyPlanJobDto.Status status = StudyPlanJobDto.Status.queued;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Integer days;
+        private volatile Integer problems;
+        private volatile String error;
+
+        private Job(String id, Long userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        private StudyPlanJobDto toDto() {
+            StudyPlanJobDto dto = new StudyPlanJobDto();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setDays(days);
+            dto.setProblems(problems);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.codepulse.tracker.service;
+
+import com.codepulse.tracker.repository.StudyPlanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Removes study plans that have been replaced by a newer plan of the same user, in batches of
+ * {@code batchSize} plans per transaction. Only the latest plan of a user is ever read, so superseded
+ * plans are invisible while they wait here. This is where plans end up when
+ * {@code codepulse.study-plan.purge.deferred} is set, and it also clears plans left behind before
+ * plan replacement removed them.
+ */
+@Slf4j
+@Component
+public class StudyPlanPurgeJob {
+
+    private final StudyPlanRepository studyPlanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public StudyPlanPurgeJob(StudyPlanRepository studyPlanRepository,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${codepulse.study-plan.purge.batch-size:500}") int batchSize) {
+        this.studyPlanRepository = studyPlanRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${codepulse.study-plan.purge.interval:PT10M}",
+            fixedDelayString = "${codepulse.study-plan.purge.interval:PT10M}")
+    public void purge() {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> planIds = studyPlanRepository.findSupersededPlanIds(batchSize);
+                return studyPlanRepository.deletePlans(planIds);
+            });
+            purged += deleted;
+        } while (deleted == batchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} superseded study plans", purged);
+        }
+    }
+}
@@ -141,23 +141,36 @@
 //
 package com.codepulse.tracker.service;
 
+import com.codepulse.tracker.catalog.ProblemCatalog;
+import com.codepulse.tracker.datasource.ReadFromReplica;
+import com.codepulse.tracker.dto.CompactPlanDto;
 import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.dto.PlanTaskRow;
 import com.codepulse.tracker.dto.ProblemDto;
+import com.codepulse.tracker.dto.ProgressRow;
 import com.codepulse.tracker.dto.StudyPlanRequest;
 import com.codepulse.tracker.entity.*;
 import com.codepulse.tracker.mapper.DtoMapper;
 import com.codepulse.tracker.repository.*;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("codepulse.service")
 public class StudyPlanService {
 
     private final StudyPlanRepository studyPlanRepository;
@@ -165,46 +178,51 @@ public class StudyPlanService {
     private final TopicRepository topicRepository;
     private final DailyTaskRepository dailyTaskRepository;
     private final UserProblemProgressRepository progressRepository;
+    private final UserRepository userRepository;
+    private final ProblemCatalog problemCatalog;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final MeterRegistry meterRegistry;
+    private final UserWriteTracker userWriteTracker;
+
+    @Value("${codepulse.study-plan.purge.deferred:false}")
+    private boolean deferPurge;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("E, MMM dd, yy");
 
     /**
      * Creates a new study plan for the given user.
-     * If an old study plan exists for the user, it will be deleted along with its
-     * daily tasks, but the user's problem progress (completed status, notes) will be preserved.
+     * The user's previous study plans are deleted along with their daily tasks,
+     * but the user's problem progress (completed status, notes) will be preserved.
      */
     @Transactional
-    public List<DailyPlanDto> createStudyPlan(StudyPlanRequest request, User currentUser) {
-        // --- NEW LOGIC START ---
-        // Step 1: Check for and delete any existing study plan for the user.
-        // This ensures stats related to a specific plan (like daily tasks) are cleared.
-        studyPlanRepository.findFirstByUserIdOrderByIdDesc(currentUser.getId())
-                .ifPresent(oldPlan -> {
-                    // The 'orphanRemoval = true' in the StudyPlan entity will automatically
-                    // delete the associated DailyTask entities when the plan is deleted.
-                    studyPlanRepository.delete(oldPlan);
-                });
-        // --- NEW LOGIC END ---
-
-
-        // Step 2: Create and save the new StudyPlan entity
+    public List<DailyPlanDto> createStudyPlan(StudyPlanRequest request, Long userId) {
+        userWriteTracker.recordWrite(userId);
+        // Only the foreign key is needed, so the user row itself is never loaded
+        User currentUser = userRepository.getReferenceById(userId);
+        if (!deferPurge) {
+            // Two requests replacing each other's plans at once would each delete a plan the other just wrote
+            studyPlanRepository.lockPlansOf(userId);
+        }
+
+        // Step 1: Create and save the new StudyPlan entity
         StudyPlan studyPlan = new StudyPlan();
         studyPlan.setUser(currentUser);
         studyPlan.setSkillLevel(request.getLevel());
         studyPlan.setDurationDays(request.getDays());
 
-        // Step 3: Fetch and set the topics for the new study plan
+        // Step 2: Fetch and set the topics for the new study plan (one IN query for all names)
         Set<Topic> selectedTopics = new HashSet<>();
         if (request.getTopics() != null && !request.getTopics().isEmpty()) {
-            for (String topicName : request.getTopics()) {
-                topicRepository.findByName(topicName).ifPresent(selectedTopics::add);
-            }
+            selectedTopics.addAll(topicRepository.findByNameIn(request.getTopics()));
         }
         studyPlan.setTopics(selectedTopics);
-        StudyPlan savedStudyPlan = studyPlanRepository.save(studyPlan);
+        // Flushed right away: the tasks below are inserted over JDBC and reference the plan row
+        StudyPlan savedStudyPlan = studyPlanRepository.saveAndFlush(studyPlan);
 
-        // Step 4: Generate the list of problems for the new plan
-        List<Problem> problemPool = generateProblemPool(request, new ArrayList<>(selectedTopics));
+        // Step 3: Generate the list of problems for the new plan
+        List<Long> problemPool = generateProblemPool(request, new ArrayList<>(selectedTopics));
 
-        // Step 5: Create new daily tasks and ensure progress records exist for each problem
+        // Step 4: Lay out the daily tasks in memory
         List<DailyTask> dailyTasks = new ArrayList<>();
         int totalProblems = problemPool.size();
         for (int day = 1; day <= request.getDays(); day++) {
@@ -212,103 +230,200 @@ public class StudyPlanService {
             int end = (int) Math.floor((double) totalProblems * day / request.getDays());
 
             for (int i = start; i < end; i++) {
-                Problem problem = problemPool.get(i);
-
                 DailyTask task = new DailyTask();
                 task.setStudyPlan(savedStudyPlan);
-                task.setProblem(problem);
+                task.setProblem(problemRepository.getReferenceById(problemPool.get(i)));
                 task.setDayNumber(day);
                 dailyTasks.add(task);
+            }
+        }
+
+        // Step 5: Ensure a progress record exists for every problem in the plan
+        Map<Long, UserProblemProgress> progressByProblemId = materializeProgress(currentUser, problemPool);
 
-                // This logic ensures that a progress record exists for every problem in the plan.
-                // If the user has seen this problem before, their progress is preserved.
-                // If it's a new problem, a 'pending' record is created.
-                progressRepository.findByUserIdAndProblemId(currentUser.getId(), problem.getId())
-                        .orElseGet(() -> {
-                            UserProblemProgress newProgress = new UserProblemProgress();
-                            newProgress.setUser(currentUser);
-                            newProgress.setProblem(problem);
-                            newProgress.setStatus(UserProblemProgress.Status.pending);
-                            return progressRepository.save(newProgress);
-                        });
+        dailyTaskRepository.batchInsert(savedStudyPlan.getId(), dailyTasks);
+
+        // Step 6: Replace the user's previous plans. Their tasks and topic links go with a few bulk DELETEs,
+        // in the same transaction, so readers switch from the old plan to the new one at commit.
+        // When purging is deferred they stay behind, unreachable, until StudyPlanPurgeJob removes them.
+        if (!deferPurge) {
+            studyPlanRepository.deleteOtherPlans(userId, savedStudyPlan.getId());
+        }
+
+        recordPlanSize(request.getDays(), dailyTasks.size());
+
+        // Step 7: Format the response DTO from the in-memory state
+        return formatPlanAsDto(dailyTasks, progressByProblemId);
+    }
+
+    /**
+     * Creates a study plan like {@link #createStudyPlan} and returns it in the normalized {@link CompactPlanDto} form.
+     */
+    @Transactional
+    public CompactPlanDto createCompactStudyPlan(StudyPlanRequest request, Long userId, boolean includeNotes) {
+        return DtoMapper.toCompactPlan(createStudyPlan(request, userId), includeNotes);
+    }
+
+    private void recordPlanSize(int days, int problems) {
+        DistributionSummary.builder("codepulse.study-plan.days")
+                .description("Days in each generated study plan")
+                .register(meterRegistry)
+                .record(days);
+        DistributionSummary.builder("codepulse.study-plan.problems")
+                .description("Problems in each generated study plan")
+                .register(meterRegistry)
+                .record(problems);
+    }
+
+    private Map<Long, UserProblemProgress> materializeProgress(User currentUser, List<Long> problemPool) {
+        Set<Long> problemIds = new LinkedHashSet<>(problemPool);
+        Map<Long, UserProblemProgress> progressByProblemId = new HashMap<>();
+        if (problemIds.isEmpty()) {
+            return progressByProblemId;
+        }
+
+        // Missing 'pending' rows are created and the existing progress (completed status, notes) is read
+        // in one upsert, so two plans generated at once for the same user cannot collide on (user, problem)
+        Map<Problem.Difficulty, Integer> addedByDifficulty = new EnumMap<>(Problem.Difficulty.class);
+        for (ProgressRow row : progressRepository.upsertPendingProgress(currentUser.getId(), problemIds)) {
+            UserProblemProgress progress = new UserProblemProgress();
+            progress.setId(row.getId());
+            progress.setUser(currentUser);
+            progress.setProblem(problemRepository.getReferenceById(row.getProblemId()));
+            progress.setStatus(row.getStatus());
+            progress.setNotes(row.getNotes());
+            progressByProblemId.put(row.getProblemId(), progress);
+            if (row.isCreated()) {
+                addedByDifficulty.merge(difficultyOf(row.getProblemId()), 1, Integer::sum);
             }
         }
 
-        dailyTaskRepository.saveAll(dailyTasks);
+        // New pending rows raise the per-difficulty totals of the cached dashboard
+        dashboardStatsCache.onProgressAdded(currentUser.getId(), addedByDifficulty);
+        return progressByProblemId;
+    }
 
-        // Step 6: Format the response DTO
-        return formatPlanAsDto(dailyTasks, progressRepository.findAllByUserId(currentUser.getId()));
+    private Problem.Difficulty difficultyOf(Long problemId) {
+        // Outside the catalog the problem was sampled into this persistence context, so no query is issued
+        return problemCatalog.find(problemId)
+                .map(ProblemCatalog.Entry::getDifficulty)
+                .orElseGet(() -> problemRepository.getReferenceById(problemId).getDifficulty());
     }
+
+    @ReadFromReplica("latest-plan")
     @Transactional(readOnly = true)
-    public Optional<List<DailyPlanDto>> getLatestStudyPlan(User currentUser) {
-        // Find the most recent study plan for the user
-        Optional<StudyPlan> latestPlanOpt = studyPlanRepository.findFirstByUserIdOrderByIdDesc(currentUser.getId());
+    public Optional<List<DailyPlanDto>> getLatestStudyPlan(Long userId, int fromDay, int toDay) {
+        // Tasks, problems, topics and the matching progress of the latest plan arrive in one query, already in day order
+        List<PlanTaskRow> rows = dailyTaskRepository.findLatestPlanRows(userId, fromDay, toDay);
 
         // If no plan is found, return empty
-        if (latestPlanOpt.isEmpty()) {
-            return Optional.empty();
+        if (rows.isEmpty()) {
+            return studyPlanRepository.existsByUserId(userId) ? Optional.of(List.of()) : Optional.empty();
         }
 
-        StudyPlan latestPlan = latestPlanOpt.get();
-        // Get all tasks and progress records associated with the plan and user
-        List<DailyTask> tasks = latestPlan.getDailyTasks();
-        List<UserProblemProgress> progresses = progressRepository.findAllByUserId(currentUser.getId());
-
-        // Use the existing DTO formatting logic to build the response
-        List<DailyPlanDto> planDto = formatPlanAsDto(tasks, progresses);
+        List<DailyPlanDto> planDto = new ArrayList<>();
+        forEachDay(rows.iterator(), planDto::add);
         return Optional.of(planDto);
     }
 
-    private List<Problem> generateProblemPool(StudyPlanRequest request, List<Topic> topics) {
-        Map<Problem.Difficulty, Double> distribution = getDistribution(request.getLevel());
-        int totalProblems = 3 * request.getDays(); // Aim for 3 problems per day
+    @ReadFromReplica("latest-plan")
+    @Transactional(readOnly = true)
+    public Optional<CompactPlanDto> getLatestCompactPlan(Long userId, int fromDay, int toDay, boolean includeNotes) {
+        List<PlanTaskRow> rows = dailyTaskRepository.findLatestPlanRows(userId, fromDay, toDay);
+        if (rows.isEmpty()) {
+            return studyPlanRepository.existsByUserId(userId) ? Optional.of(new CompactPlanDto()) : Optional.empty();
+        }
+        return Optional.of(DtoMapper.toCompactPlan(rows, StudyPlanService::dateOf, includeNotes));
+    }
+
+    @ReadFromReplica("latest-plan")
+    @Transactional(readOnly = true)
+    public boolean hasStudyPlan(Long userId) {
+        return studyPlanRepository.existsByUserId(userId);
+    }
 
-        List<Problem> easy, medium, hard;
-        if (topics.isEmpty()) {
-            easy = problemRepository.findByDifficulty(Problem.Difficulty.Easy);
-            medium = problemRepository.findByDifficulty(Problem.Difficulty.Medium);
-            hard = problemRepository.findByDifficulty(Problem.Difficulty.Hard);
-        } else {
-            easy = problemRepository.findByDifficultyAndTopicIn(Problem.Difficulty.Easy, topics);
-            medium = problemRepository.findByDifficultyAndTopicIn(Problem.Difficulty.Medium, topics);
-            hard = problemRepository.findByDifficultyAndTopicIn(Problem.Difficulty.Hard, topics);
+    /**
+     * Streams the days of the latest plan to the sink as they are read from a database cursor, so only
+     * one day is held in memory at a time. Runs in its own read-only transaction that keeps the cursor open.
+     */
+    @ReadFromReplica("latest-plan")
+    @Transactional(readOnly = true)
+    public void streamLatestStudyPlan(Long userId, int fromDay, int toDay, Consumer<DailyPlanDto> sink) {
+        try (Stream<PlanTaskRow> rows = dailyTaskRepository.streamLatestPlanRows(userId, fromDay, toDay)) {
+            forEachDay(rows.iterator(), sink);
         }
+    }
 
-        Collections.shuffle(easy);
-        Collections.shuffle(medium);
-        Collections.shuffle(hard);
+    // Rows arrive ordered by day, so a day is complete as soon as the next one starts
+    private void forEachDay(Iterator<PlanTaskRow> rows, Consumer<DailyPlanDto> sink) {
+        List<ProblemDto> dayProblems = new ArrayList<>();
+        int currentDay = -1;
+        while (rows.hasNext()) {
+            PlanTaskRow row = rows.next();
+            if (row.getDayNumber() != currentDay) {
+                if (!dayProblems.isEmpty()) {
+                    sink.accept(toDailyPlanDto(currentDay, dayProblems));
+                }
+                currentDay = row.getDayNumber();
+                dayProblems = new ArrayList<>();
+            }
+            dayProblems.add(DtoMapper.toProblemDto(row));
+        }
+        if (!dayProblems.isEmpty()) {
+            sink.accept(toDailyPlanDto(currentDay, dayProblems));
+        }
+    }
 
-        List<Problem> finalPool = new ArrayList<>();
-        finalPool.addAll(easy.subList(0, Math.min(easy.size(), (int) (totalProblems * distribution.get(Problem.Difficulty.Easy)))));
-        finalPool.addAll(medium.subList(0, Math.min(medium.size(), (int) (totalProblems * distribution.get(Problem.Difficulty.Medium)))));
-        finalPool.addAll(hard.subList(0, Math.min(hard.size(), (int) (totalProblems * distribution.get(Problem.Difficulty.Hard)))));
+    private List<Long> generateProblemPool(StudyPlanRequest request, List<Topic> topics) {
+        Map<Problem.Difficulty, Double> distribution = getDistribution(request.getLevel());
+        int totalProblems = 3 * request.getDays(); // Aim for 3 problems per day
 
-        Collections.shuffle(finalPool);
+        // Problems are picked from the in-memory catalog by bitset intersection, or sampled inside the
+        // database when the catalog is disabled. Either way only the selected problems are materialized.
+        // A seeded random makes the selection reproducible for a given request seed.
+        Random random = new Random(request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong());
+        List<Integer> topicIds = topics.stream().map(Topic::getId).collect(Collectors.toList());
+
+        List<Long> finalPool = new ArrayList<>();
+        for (Problem.Difficulty difficulty : Problem.Difficulty.values()) {
+            int count = (int) (totalProblems * distribution.get(difficulty));
+            if (problemCatalog.isEnabled()) {
+                finalPool.addAll(problemCatalog.sample(difficulty, topicIds, count, random));
+            } else {
+                problemRepository.sample(difficulty, topics, count, random.nextDouble())
+                        .forEach(problem -> finalPool.add(problem.getId()));
+            }
+        }
+
+        Collections.shuffle(finalPool, random);
         return finalPool;
     }
 
-    private List<DailyPlanDto> formatPlanAsDto(List<DailyTask> tasks, List<UserProblemProgress> progresses) {
-        Map<Long, UserProblemProgress> progressMap = progresses.stream()
-                .collect(Collectors.toMap(p -> p.getProblem().getId(), p -> p));
-
+    private List<DailyPlanDto> formatPlanAsDto(List<DailyTask> tasks, Map<Long, UserProblemProgress> progressMap) {
         Map<Integer, List<ProblemDto>> problemsByDay = tasks.stream()
                 .collect(Collectors.groupingBy(
                         DailyTask::getDayNumber,
-                        Collectors.mapping(task -> DtoMapper.toProblemDto(task.getProblem(), progressMap.get(task.getProblem().getId())), Collectors.toList())
+                        Collectors.mapping(task -> DtoMapper.toProblemDto(problemCatalog, task.getProblem(), progressMap.get(task.getProblem().getId())), Collectors.toList())
                 ));
 
         return problemsByDay.entrySet().stream()
-                .map(entry -> {
-                    DailyPlanDto dto = new DailyPlanDto();
-                    dto.setDay(entry.getKey());
-                    dto.setDate(LocalDate.now().plusDays(entry.getKey() - 1).format(DateTimeFormatter.ofPattern("E, MMM dd, yy")));
-                    dto.setProblems(entry.getValue());
-                    return dto;
-                })
+                .map(entry -> toDailyPlanDto(entry.getKey(), entry.getValue()))
                 .sorted(Comparator.comparingInt(DailyPlanDto::getDay))
                 .collect(Collectors.toList());
     }
 
+    private DailyPlanDto toDailyPlanDto(int day, List<ProblemDto> problems) {
+        DailyPlanDto dto = new DailyPlanDto();
+        dto.setDay(day);
+        dto.setDate(dateOf(day));
+        dto.setProblems(problems);
+        return dto;
+    }
+
+    private static String dateOf(int day) {
+        return LocalDate.now().plusDays(day - 1).format(DATE_FORMAT);
+    }
+
     private Map<Problem.Difficulty, Double> getDistribution(StudyPlan.SkillLevel level) {
         return switch (level) {
             case beginner -> Map.of(Problem.Difficulty.Easy, 0.60, Problem.Difficulty.Medium, 0.30, Problem.Difficulty.Hard, 0.10);
@@ -0,0 +1,91 @@
+package com.codepulse.tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the writes of each user, as reported by {@link ProblemService} and {@link StudyPlanService}.
+ * <ul>
+ * <li>Users who wrote during the last few seconds are remembered, so that their own reads can stay off a replica
+ * that may not have replayed those writes yet (see {@link com.codepulse.tracker.datasource.ReadFromReplica}).</li>
+ * <li>Every user has a revision that grows with each of their writes, which the controllers turn into ETags.</li>
+ * <li>Users with a writing transaction that has not completed yet are known, so {@link DashboardStatsCache} can
+ * tell whether a snapshot may have been read half-way through a write.</li>
+ * </ul>
+ * A write is recorded when it is made and again once its transaction has committed and all of its after-commit
+ * callbacks (such as the {@link DashboardStatsCache} adjustments) have run, so a read running in between cannot
+ * pair the old data with the final revision, and the read-your-writes window is counted from the commit.
+ * <p>
+ * Revisions are drawn from one counter shared by all users. A user whose revision was evicted gets the current
+ * counter value back: that is at least their last revision, and equal to it only if nobody wrote since.
+ * They live in memory, so every revision is prefixed with the start time of this instance.
+ */
+@Component
+public class UserWriteTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+    private final Cache<Long, Long> revisions;
+    private final AtomicLong lastRevision = new AtomicLong();
+    private final ConcurrentMap<Long, Integer> writesInFlight = new ConcurrentHashMap<>();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public UserWriteTracker(@Value("${codepulse.datasource.replica.read-your-writes-window:10s}") Duration window,
+                            @Value("${codepulse.http.revisions.max-size:100000}") long maxRevisions) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+        this.revisions = Caffeine.newBuilder()
+                .maximumSize(maxRevisions)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        record(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writesInFlight.merge(userId, 1, Integer::sum);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Only after every after-commit callback, so the final revision is never paired with a
+                    // cached snapshot that still lacks this write's adjustment
+                    if (status == STATUS_COMMITTED) {
+                        record(userId);
+                    }
+                    writesInFlight.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+                }
+            });
+        }
+    }
+
+    /**
+     * Whether a transaction that wrote for the user has not completed yet, including its after-commit callbacks.
+     */
+    public boolean writing(Long userId) {
+        return writesInFlight.containsKey(userId);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    /**
+     * The user's current revision, e.g. {@code "lz3k1q2a.42"}; it changes whenever the user writes.
+     */
+    public String revision(Long userId) {
+        return epoch + "." + revisions.get(userId, id -> lastRevision.get());
+    }
+
+    private void record(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+        revisions.put(userId, lastRevision.incrementAndGet());
+    }
+}
@@ -0,0 +1,160 @@
+package com.codepulse.tracker.catalog;
+
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.Topic;
+import com.codepulse.tracker.repository.ProblemRepository;
+import com.codepulse.tracker.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProblemCatalogTest {
+
+    private static final int ARRAY = 1;
+    private static final int GRAPH = 2;
+    private static final int DP = 3;
+
+    private ProblemCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        Topic array = topic(ARRAY, "Array");
+        Topic graph = topic(GRAPH, "Graph");
+        Topic dp = topic(DP, "DP");
+        // Ids deliberately out of order: the snapshot sorts them for binary search
+        List<Problem> problems = List.of(
+                problem(7L, Problem.Difficulty.Easy, array),
+                problem(1L, Problem.Difficulty.Easy, array),
+                problem(3L, Problem.Difficulty.Easy, graph),
+                problem(5L, Problem.Difficulty.Medium, graph),
+                problem(2L, Problem.Difficulty.Medium, dp),
+                problem(9L, Problem.Difficulty.Medium, dp),
+                problem(4L, Problem.Difficulty.Medium, array),
+                problem(8L, Problem.Difficulty.Hard, dp),
+                problem(6L, Problem.Difficulty.Easy, null));
+
+        ProblemRepository problemRepository = mock(ProblemRepository.class);
+        TopicRepository topicRepository = mock(TopicRepository.class);
+        when(problemRepository.findAllBuiltInWithTopic()).thenReturn(problems);
+        when(topicRepository.findAll()).thenReturn(List.of(array, graph, dp));
+
+        catalog = new ProblemCatalog(problemRepository, topicRepository);
+        ReflectionTestUtils.setField(catalog, "enabled", true);
+        catalog.init();
+    }
+
+    @Test
+    void selectFiltersByDifficultyAlone() {
+        assertThat(idsOf(Problem.Difficulty.Easy, List.of())).containsExactlyInAnyOrder(1L, 3L, 6L, 7L);
+        assertThat(idsOf(Problem.Difficulty.Hard, List.of())).containsExactly(8L);
+    }
+
+    @Test
+    void selectIntersectsDifficultyWithTheUnionOfTopics() {
+        assertThat(idsOf(Problem.Difficulty.Medium, List.of(GRAPH, DP))).containsExactlyInAnyOrder(2L, 5L, 9L);
+        assertThat(idsOf(Problem.Difficulty.Easy, List.of(GRAPH))).containsExactly(3L);
+        assertThat(idsOf(Problem.Difficulty.Hard, List.of(ARRAY))).isEmpty();
+    }
+
+    @Test
+    void selectIgnoresUnknownTopics() {
+        assertThat(idsOf(Problem.Difficulty.Medium, List.of(42))).isEmpty();
+        assertThat(idsOf(Problem.Difficulty.Medium, List.of(42, ARRAY))).containsExactly(4L);
+    }
+
+    @Test
+    void selectReturnsAPrivateCopy() {
+        catalog.select(Problem.Difficulty.Easy, List.of()).clear();
+
+        assertThat(idsOf(Problem.Difficulty.Easy, List.of())).hasSize(4);
+    }
+
+    @Test
+    void sampleReturnsDistinctMatchingProblems() {
+        List<Long> sample = catalog.sample(Problem.Difficulty.Medium, List.of(GRAPH, DP), 2, new Random(1));
+
+        assertThat(sample).hasSize(2).doesNotHaveDuplicates();
+        assertThat(sample).allSatisfy(id -> assertThat(id).isIn(2L, 5L, 9L));
+    }
+
+    @Test
+    void sampleReturnsEveryMatchWhenCountExceedsThem() {
+        List<Long> sample = catalog.sample(Problem.Difficulty.Easy, List.of(), 10, new Random(1));
+
+        assertThat(sample).containsExactlyInAnyOrder(1L, 3L, 6L, 7L);
+    }
+
+    @Test
+    void sampleOfNothingIsEmpty() {
+        assertThat(catalog.sample(Problem.Difficulty.Hard, List.of(ARRAY), 3, new Random(1))).isEmpty();
+        assertThat(catalog.sample(Problem.Difficulty.Easy, List.of(), 0, new Random(1))).isEmpty();
+        assertThat(catalog.sample(Problem.Difficulty.Easy, List.of(), -1, new Random(1))).isEmpty();
+    }
+
+    @Test
+    void sameSeedGivesTheSameSample() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<Long> first = catalog.sample(Problem.Difficulty.Medium, List.of(), 3, new Random(seed));
+            List<Long> second = catalog.sample(Problem.Difficulty.Medium, List.of(), 3, new Random(seed));
+            assertThat(second).isEqualTo(first);
+        }
+    }
+
+    @Test
+    void everyMatchCanBeSampled() {
+        Random random = new Random(1);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            seen.addAll(catalog.sample(Problem.Difficulty.Medium, List.of(), 1, random));
+        }
+        assertThat(seen).containsExactlyInAnyOrder(2L, 4L, 5L, 9L);
+    }
+
+    @Test
+    void findLooksUpEntriesById() {
+        ProblemCatalog.Entry entry = catalog.find(5L).orElseThrow();
+
+        assertThat(entry.getName()).isEqualTo("Problem 5");
+        assertThat(entry.getDifficulty()).isEqualTo(Problem.Difficulty.Medium);
+        assertThat(entry.getTopic()).isEqualTo("Graph");
+        assertThat(catalog.find(6L).orElseThrow().getTopic()).isNull();
+        assertThat(catalog.find(10L)).isEmpty();
+        assertThat(catalog.find(null)).isEmpty();
+        assertThat(catalog.size()).isEqualTo(9);
+    }
+
+    private List<Long> idsOf(Problem.Difficulty difficulty, List<Integer> topicIds) {
+        List<Long> ids = new ArrayList<>();
+        // Every match is sampled, so the sample lists the selection's ids
+        ids.addAll(catalog.sample(difficulty, topicIds, Integer.MAX_VALUE, new Random(0)));
+        assertThat(ids).hasSize(catalog.select(difficulty, topicIds).cardinality());
+        return ids;
+    }
+
+    private static Topic topic(int id, String name) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setName(name);
+        return topic;
+    }
+
+    private static Problem problem(Long id, Problem.Difficulty difficulty, Topic topic) {
+        Problem problem = new Problem();
+        problem.setId(id);
+        problem.setName("Problem " + id);
+        problem.setDifficulty(difficulty);
+        problem.setTopic(topic);
+        problem.setLeetcodeId(String.valueOf(id));
+        return problem;
+    }
+}
@@ -0,0 +1,128 @@
+package com.codepulse.tracker.controller;
+
+import com.codepulse.tracker.dto.CompactPlanDto;
+import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.security.AuthenticatedUser;
+import com.codepulse.tracker.service.StudyPlanJobService;
+import com.codepulse.tracker.service.StudyPlanService;
+import com.codepulse.tracker.service.UserWriteTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudyPlanControllerTest {
+
+    private static final Long USER = 1L;
+    private static final Instant MONDAY = Instant.parse("2025-01-06T12:00:00Z");
+
+    private StudyPlanService studyPlanService;
+    private UserWriteTracker userWriteTracker;
+    private AuthenticatedUser currentUser;
+
+    @BeforeEach
+    void setUp() {
+        studyPlanService = mock(StudyPlanService.class);
+        when(studyPlanService.getLatestStudyPlan(eq(USER), anyInt(), anyInt()))
+                .thenReturn(Optional.of(List.of(new DailyPlanDto())));
+        when(studyPlanService.getLatestCompactPlan(eq(USER), anyInt(), anyInt(), anyBoolean()))
+                .thenReturn(Optional.of(new CompactPlanDto()));
+        userWriteTracker = new UserWriteTracker(Duration.ofSeconds(10), 1_000);
+        currentUser = new AuthenticatedUser(USER, "user@example.com");
+    }
+
+    @Test
+    void storedETagIsNotModifiedOnTheSameDay() {
+        String etag = etagOf(latest(controllerAt(MONDAY), null));
+
+        assertThat(status(latest(controllerAt(MONDAY.plus(Duration.ofHours(6))), etag))).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void storedETagIsRefreshedTheNextDay() {
+        String etag = etagOf(latest(controllerAt(MONDAY), null));
+
+        MockHttpServletResponse response = latest(controllerAt(MONDAY.plus(Duration.ofDays(1))), etag);
+
+        assertThat(status(response)).isEqualTo(HttpStatus.OK.value());
+        assertThat(etagOf(response)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void storedCompactETagIsRefreshedTheNextDay() {
+        String etag = etagOf(latestCompact(controllerAt(MONDAY), null));
+
+        assertThat(status(latestCompact(controllerAt(MONDAY), etag))).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(status(latestCompact(controllerAt(MONDAY.plus(Duration.ofDays(1))), etag))).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void storedETagIsRefreshedAfterAWrite() {
+        StudyPlanController controller = controllerAt(MONDAY);
+        String etag = etagOf(latest(controller, null));
+
+        userWriteTracker.recordWrite(USER);
+
+        assertThat(status(latest(controller, etag))).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private StudyPlanController controllerAt(Instant now) {
+        return new StudyPlanController(studyPlanService, mock(StudyPlanJobService.class), userWriteTracker,
+                new ObjectMapper(), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private MockHttpServletResponse latest(StudyPlanController controller, String ifNoneMatch) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> entity = controller.getLatestStudyPlan(1, null, currentUser, webRequest(ifNoneMatch, response));
+        return respond(entity, response);
+    }
+
+    private MockHttpServletResponse latestCompact(StudyPlanController controller, String ifNoneMatch) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<?> entity = controller.getLatestCompactPlan(1, null, false, currentUser, webRequest(ifNoneMatch, response));
+        return respond(entity, response);
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/study-plan/latest");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    // A null entity means checkNotModified already wrote the 304 and the ETag to the response
+    private static MockHttpServletResponse respond(ResponseEntity<?> entity, MockHttpServletResponse response) {
+        if (entity != null) {
+            response.setStatus(entity.getStatusCode().value());
+        }
+        return response;
+    }
+
+    private static int status(MockHttpServletResponse response) {
+        return response.getStatus();
+    }
+
+    private static String etagOf(MockHttpServletResponse response) {
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+}
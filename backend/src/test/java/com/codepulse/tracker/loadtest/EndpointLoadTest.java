@@ -0,0 +1,482 @@
+package com.codepulse.tracker.loadtest;
+
+import com.codepulse.tracker.catalog.ProblemCatalog;
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.Topic;
+import com.codepulse.tracker.entity.User;
+import com.codepulse.tracker.metrics.RequestStatementCounter;
+import com.codepulse.tracker.metrics.StatementCapture;
+import com.codepulse.tracker.repository.ProblemRepository;
+import com.codepulse.tracker.repository.TopicRepository;
+import com.codepulse.tracker.repository.UserProblemProgressRepository;
+import com.codepulse.tracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test against an embedded PostgreSQL, excluded from the regular build.
+ * Run it with {@code ./mvnw -Ploadtest test}; it needs no network and no Docker.
+ * <p>
+ * Seeds {@code loadtest.users} users with {@code loadtest.progress-per-user} progress rows each, then
+ * {@code loadtest.clients} clients drive a weighted mix of the real endpoints over HTTP for
+ * {@code loadtest.duration-seconds}. Each client owns its own users, so concurrent toggles never race on the same row.
+ * Throughput, p50/p95/p99 latency and SQL statements per request are printed per endpoint and written to
+ * {@code target/loadtest-report.json}. The test fails on server errors, or when the most statements any
+ * single request of an endpoint needed exceeds its budget in {@code loadtest/statement-budget.properties}.
+ * <p>
+ * With {@code -Dloadtest.replica=true} a second embedded PostgreSQL runs as a streaming standby of the first and
+ * is configured as the read replica; the test then also fails unless some reads were actually served by it.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "jwt.secret=load-test-secret-load-test-secret-load-test-secret-load-test-secret",
+        "codepulse.study-plan.purge.interval=PT1H",
+        "management.server.port=0"
+})
+class EndpointLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int PROGRESS_PER_USER = Integer.getInteger("loadtest.progress-per-user", 200);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 16);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private static final boolean REPLICA = Boolean.getBoolean("loadtest.replica");
+    private static final int CATALOG_SIZE = 2000;
+    private static final String PASSWORD = "load-test";
+
+    // Endpoint name and its share of the mix
+    private static final Map<String, Integer> MIX = new LinkedHashMap<>();
+
+    static {
+        MIX.put("dashboard", 35);
+        MIX.put("toggle", 25);
+        MIX.put("note", 10);
+        MIX.put("latest-plan", 10);
+        MIX.put("login", 8);
+        MIX.put("create-plan", 7);
+        MIX.put("signup", 5);
+    }
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static final Path REPLICA_DATA = REPLICA ? copyDataDirectory(POSTGRES) : null;
+    private static final EmbeddedPostgres POSTGRES_REPLICA = REPLICA ? startReplica(REPLICA_DATA) : null;
+    private static final StatementCounter STATEMENT_COUNTER = new StatementCounter();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        if (POSTGRES_REPLICA != null) {
+            registry.add("codepulse.datasource.replica.url", () -> POSTGRES_REPLICA.getJdbcUrl("postgres", "postgres"));
+        }
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (POSTGRES_REPLICA != null) {
+            POSTGRES_REPLICA.close();
+            FileSystemUtils.deleteRecursively(REPLICA_DATA);
+        }
+        POSTGRES.close();
+    }
+
+    @TestConfiguration
+    static class StatementCounting {
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return STATEMENT_COUNTER.dataSourceWrapper();
+        }
+
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> statementCountingFilter() {
+            return STATEMENT_COUNTER.requestFilter();
+        }
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired TopicRepository topicRepository;
+    @Autowired ProblemRepository problemRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired UserProblemProgressRepository progressRepository;
+    @Autowired ProblemCatalog problemCatalog;
+    @Autowired PasswordEncoder passwordEncoder;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired RequestStatementCounter requestStatementCounter;
+    @Autowired MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicLong signups = new AtomicLong();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<Long> problemIds = seedCatalog();
+        List<SeededUser> users = seedUsers(problemIds);
+        for (SeededUser user : users) {
+            user.token = login(user.email);
+        }
+        STATEMENT_COUNTER.reset();
+        StatementCapture capture = requestStatementCounter.capture();
+
+        Map<String, Latencies> latencies = new ConcurrentHashMap<>();
+        MIX.keySet().forEach(endpoint -> latencies.put(endpoint, new Latencies()));
+        AtomicLong serverErrors = new AtomicLong();
+        long deadline = System.nanoTime() + DURATION.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            List<SeededUser> owned = new ArrayList<>();
+            for (int i = client; i < users.size(); i += CLIENTS) {
+                owned.add(users.get(i));
+            }
+            runs.add(clients.submit(() -> {
+                runClient(owned, deadline, latencies, serverErrors);
+                return null;
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        clients.shutdown();
+        capture.close();
+
+        Map<String, Object> report = report(latencies);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "loadtest-report.json"), objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        assertThat(serverErrors.get()).as("requests answered with 5xx").isZero();
+        assertThat(statementRegressions()).as("endpoints over their statement budget").isEmpty();
+        // The same limits through the application's own Hibernate-level counter, plus a guard against N+1 loops.
+        // A dashboard request is the principal lookup on a cold cache plus the three dashboard queries.
+        capture.assertAtMost("GET /api/problems/dashboard-stats", 4)
+                .assertRepeatedAtMost("POST /api/study-plan", 1)
+                .assertRepeatedAtMost("PATCH /api/problems/{problemId}/status", 1)
+                .assertRepeatedAtMost("GET /api/study-plan/latest", 1);
+        if (REPLICA) {
+            assertThat(meterRegistry.counter("codepulse.datasource.replica.connections", "outcome", "acquired").count())
+                    .as("connections served by the replica").isPositive();
+        }
+    }
+
+    private void runClient(List<SeededUser> owned, long deadline,
+                           Map<String, Latencies> latencies, AtomicLong serverErrors) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int totalWeight = MIX.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < deadline) {
+            SeededUser user = owned.get(random.nextInt(owned.size()));
+            String endpoint = pick(random.nextInt(totalWeight));
+            HttpRequest request = switch (endpoint) {
+                case "dashboard" -> get("/api/problems/dashboard-stats", user);
+                case "toggle" -> send("PATCH", "/api/problems/" + user.randomProblem(random) + "/status", user, "");
+                case "note" -> send("PUT", "/api/problems/" + user.randomProblem(random) + "/notes", user,
+                        json(Map.of("note", "note " + random.nextInt(1000))));
+                case "latest-plan" -> get("/api/study-plan/latest", user);
+                case "login" -> send("POST", "/api/auth/login", null, json(Map.of("email", user.email, "password", PASSWORD)));
+                case "create-plan" -> send("POST", "/api/study-plan", user,
+                        json(Map.of("level", "intermediate", "days", 30)));
+                case "signup" -> send("POST", "/api/auth/signup", null, json(Map.of("name", "Load Signup",
+                        "email", "signup-" + signups.incrementAndGet() + "@load.test", "password", PASSWORD)));
+                default -> throw new IllegalStateException(endpoint);
+            };
+            request = HttpRequest.newBuilder(request, (name, value) -> true)
+                    .header(StatementCounter.ENDPOINT_HEADER, endpoint)
+                    .build();
+
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.get(endpoint).add(System.nanoTime() - start);
+            if (response.statusCode() >= 500) {
+                serverErrors.incrementAndGet();
+            }
+        }
+    }
+
+    private List<Long> seedCatalog() {
+        List<Topic> topics = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            Topic topic = new Topic();
+            topic.setName("Topic " + i);
+            topics.add(topic);
+        }
+        topicRepository.saveAll(topics);
+
+        Problem.Difficulty[] difficulties = Problem.Difficulty.values();
+        List<Problem> problems = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Problem problem = new Problem();
+            problem.setName("Problem " + i);
+            problem.setDifficulty(difficulties[i % difficulties.length]);
+            problem.setTopic(topics.get(i % topics.size()));
+            problem.setLeetcodeId(Integer.toString(i));
+            problems.add(problem);
+        }
+        problemRepository.saveAll(problems);
+        problemCatalog.refresh();
+        return problems.stream().map(Problem::getId).toList();
+    }
+
+    private List<SeededUser> seedUsers(List<Long> problemIds) {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<SeededUser> seeded = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Load User " + i);
+            user.setEmail("user-" + i + "@load.test");
+            user.setPassword(passwordHash);
+            userRepository.save(user);
+
+            int offset = (i * PROGRESS_PER_USER) % problemIds.size();
+            List<Long> progressProblemIds = LongStream.range(0, Math.min(PROGRESS_PER_USER, problemIds.size()))
+                    .mapToObj(k -> problemIds.get((int) ((offset + k) % problemIds.size())))
+                    .collect(Collectors.toList());
+            progressRepository.upsertPendingProgress(user.getId(), progressProblemIds);
+            jdbcTemplate.update("UPDATE user_problem_progress SET status = 'completed' WHERE user_id = ? AND problem_id % 3 = 0",
+                    user.getId());
+            seeded.add(new SeededUser(user.getEmail(), progressProblemIds));
+        }
+        return seeded;
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = http.send(send("POST", "/api/auth/login", null,
+                json(Map.of("email", email, "password", PASSWORD))), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    private Map<String, Object> report(Map<String, Latencies> latencies) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        latencies.forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            StatementCounter.EndpointCounts counts = STATEMENT_COUNTER.byEndpoint().get(endpoint);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", sorted.length);
+            row.put("throughputPerSecond", sorted.length / (double) DURATION.toSeconds());
+            row.put("p50Millis", percentile(sorted, 0.50));
+            row.put("p95Millis", percentile(sorted, 0.95));
+            row.put("p99Millis", percentile(sorted, 0.99));
+            row.put("meanStatements", counts != null ? counts.meanStatements() : 0);
+            row.put("maxStatements", counts != null ? counts.maxStatements.get() : 0);
+            row.put("statementBudget", statementBudget().getProperty(endpoint));
+            endpoints.put(endpoint, row);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", USERS);
+        report.put("progressPerUser", PROGRESS_PER_USER);
+        report.put("clients", CLIENTS);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private List<String> statementRegressions() {
+        Properties budget = statementBudget();
+        List<String> regressions = new ArrayList<>();
+        STATEMENT_COUNTER.byEndpoint().forEach((endpoint, counts) -> {
+            long allowed = Long.parseLong(budget.getProperty(endpoint, "0"));
+            long used = counts.maxStatements.get();
+            if (used > allowed) {
+                regressions.add(endpoint + ": " + used + " statements, budget " + allowed);
+            }
+        });
+        return regressions;
+    }
+
+    private static Properties statementBudget() {
+        Properties budget = new Properties();
+        try (var in = EndpointLoadTest.class.getResourceAsStream("/loadtest/statement-budget.properties")) {
+            budget.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return budget;
+    }
+
+    private static String pick(int roll) {
+        for (Map.Entry<String, Integer> entry : MIX.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private HttpRequest get(String path, SeededUser user) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + user.token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest send(String method, String path, SeededUser user, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (user != null) {
+            builder.header("Authorization", "Bearer " + user.token);
+        }
+        return builder.build();
+    }
+
+    private String json(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        return sortedNanos[Math.max(0, (int) Math.ceil(quantile * sortedNanos.length) - 1)] / 1_000_000.0;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the embedded PostgreSQL", e);
+        }
+    }
+
+    /**
+     * Takes a base backup of the primary with the low-level backup functions, since the embedded binaries
+     * come without pg_basebackup, and turns it into a standby that streams from the primary.
+     */
+    private static Path copyDataDirectory(EmbeddedPostgres primary) {
+        try (Connection connection = primary.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            Path source;
+            try (ResultSet rs = statement.executeQuery("SHOW data_directory")) {
+                rs.next();
+                source = Path.of(rs.getString(1));
+            }
+            Path target = Files.createTempDirectory("loadtest-replica");
+            statement.execute("SELECT pg_start_backup('loadtest-replica', true)");
+            try (Stream<Path> files = Files.walk(source)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.equals("postmaster.pid") || name.equals("postmaster.opts") || name.equals("epg-lock")) {
+                        continue;
+                    }
+                    Path copy = target.resolve(source.relativize(file).toString());
+                    try {
+                        if (Files.isDirectory(file)) {
+                            Files.createDirectories(copy);
+                        } else {
+                            Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    } catch (NoSuchFileException e) {
+                        // Removed by the running server while copying; replaying the WAL restores a consistent state
+                    }
+                }
+            } finally {
+                statement.execute("SELECT pg_stop_backup()");
+            }
+            Files.createFile(target.resolve("standby.signal"));
+            Files.writeString(target.resolve("postgresql.auto.conf"),
+                    "primary_conninfo = 'host=localhost port=" + primary.getPort() + " user=postgres'\n",
+                    StandardOpenOption.APPEND);
+            return target;
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Could not copy the embedded PostgreSQL for the replica", e);
+        }
+    }
+
+    private static EmbeddedPostgres startReplica(Path dataDirectory) {
+        try {
+            return EmbeddedPostgres.builder()
+                    .setDataDirectory(dataDirectory)
+                    .setCleanDataDirectory(false)
+                    .start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the embedded PostgreSQL replica", e);
+        }
+    }
+
+    private static class SeededUser {
+        final String email;
+        final List<Long> problemIds;
+        volatile String token;
+
+        SeededUser(String email, List<Long> problemIds) {
+            this.email = email;
+            this.problemIds = problemIds;
+        }
+
+        long randomProblem(Random random) {
+            return problemIds.get(random.nextInt(problemIds.size()));
+        }
+    }
+
+    private static class Latencies {
+        private long[] samples = new long[1024];
+        private int count;
+
+        synchronized void add(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
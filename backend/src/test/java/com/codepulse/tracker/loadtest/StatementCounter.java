@@ -0,0 +1,125 @@
+package com.codepulse.tracker.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements executed while serving each request, grouped by the endpoint name the load
+ * test sends in {@value #ENDPOINT_HEADER}. Every JDBC execution counts once, whether it comes from
+ * Hibernate or a JdbcTemplate, and a JDBC batch counts as one round trip.
+ */
+class StatementCounter {
+
+    static final String ENDPOINT_HEADER = "X-Load-Endpoint";
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final ThreadLocal<long[]> current = new ThreadLocal<>();
+    private final Map<String, EndpointCounts> byEndpoint = new ConcurrentHashMap<>();
+
+    Map<String, EndpointCounts> byEndpoint() {
+        return byEndpoint;
+    }
+
+    void reset() {
+        byEndpoint.clear();
+    }
+
+    BeanPostProcessor dataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+            }
+        };
+    }
+
+    FilterRegistrationBean<OncePerRequestFilter> requestFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                String endpoint = request.getHeader(ENDPOINT_HEADER);
+                if (endpoint == null) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                long[] statements = new long[1];
+                current.set(statements);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    current.remove();
+                    byEndpoint.computeIfAbsent(endpoint, key -> new EndpointCounts()).record(statements[0]);
+                }
+            }
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                return wrap(Connection.class, connection);
+            }
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrap((Class<Statement>) method.getReturnType(), statement);
+            }
+            if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                long[] statements = current.get();
+                if (statements != null) {
+                    statements[0]++;
+                }
+            }
+            return result;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    static class EndpointCounts {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        void record(long count) {
+            requests.increment();
+            statements.add(count);
+            maxStatements.accumulate(count);
+        }
+
+        double meanStatements() {
+            long total = requests.sum();
+            return total == 0 ? 0 : statements.sum() / (double) total;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.codepulse.tracker.mapper;
+
+import com.codepulse.tracker.dto.CompactPlanDto;
+import com.codepulse.tracker.dto.DailyPlanDto;
+import com.codepulse.tracker.dto.PlanTaskRow;
+import com.codepulse.tracker.entity.Problem;
+import com.codepulse.tracker.entity.UserProblemProgress;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rowsAreGroupedIntoDaysInOrder() {
+        List<PlanTaskRow> rows = List.of(
+                row(1, 10L, "Arrays"),
+                row(1, 11L, "Graphs"),
+                row(2, 12L, "Arrays"));
+
+        CompactPlanDto plan = DtoMapper.toCompactPlan(rows, day -> "day " + day, false);
+
+        assertThat(plan.getDays()).containsExactly(
+                new CompactPlanDto.Day(1, "day 1", List.of(10L, 11L)),
+                new CompactPlanDto.Day(2, "day 2", List.of(12L)));
+    }
+
+    @Test
+    void topicsAreListedOnceAndReferencedByIndex() {
+        List<PlanTaskRow> rows = List.of(
+                row(1, 10L, "Arrays"),
+                row(1, 11L, "Graphs"),
+                row(2, 12L, "Arrays"),
+                row(2, 13L, null));
+
+        CompactPlanDto plan = DtoMapper.toCompactPlan(rows, day -> "", false);
+
+        assertThat(plan.getTopics()).containsExactly("Arrays", "Graphs", "General");
+        assertThat(plan.getProblems().get(10L).getTopic()).isEqualTo(0);
+        assertThat(plan.getProblems().get(11L).getTopic()).isEqualTo(1);
+        assertThat(plan.getProblems().get(12L).getTopic()).isEqualTo(0);
+        assertThat(plan.getProblems().get(13L).getTopic()).isEqualTo(2);
+    }
+
+    @Test
+    void problemOnSeveralDaysIsDescribedOnce() {
+        List<PlanTaskRow> rows = List.of(
+                row(1, 10L, "Arrays"),
+                row(2, 10L, "Arrays"),
+                row(3, 10L, "Arrays"));
+
+        CompactPlanDto plan = DtoMapper.toCompactPlan(rows, day -> "", false);
+
+        assertThat(plan.getProblems()).containsOnlyKeys(10L);
+        assertThat(plan.getDays()).extracting(CompactPlanDto.Day::getProblems)
+                .containsExactly(List.of(10L), List.of(10L), List.of(10L));
+    }
+
+    @Test
+    void notesAreOnlyIncludedOnRequest() {
+        PlanTaskRow row = row(1, 10L, "Arrays");
+        row.setStatus(UserProblemProgress.Status.completed);
+        row.setNotes("two pointers");
+
+        assertThat(DtoMapper.toCompactPlan(List.of(row), day -> "", false).getProblems().get(10L).getNotes()).isNull();
+        assertThat(DtoMapper.toCompactPlan(List.of(row), day -> "", true).getProblems().get(10L).getNotes()).isEqualTo("two pointers");
+    }
+
+    @Test
+    void problemWithoutProgressIsPending() {
+        CompactPlanDto plan = DtoMapper.toCompactPlan(List.of(row(1, 10L, "Arrays")), day -> "", true);
+
+        assertThat(plan.getProblems().get(10L).getStatus()).isEqualTo(UserProblemProgress.Status.pending.name());
+    }
+
+    @Test
+    void emptyFieldsAreLeftOutOfTheJson() {
+        PlanTaskRow plain = row(1, 10L, "Arrays");
+        plain.setStatus(UserProblemProgress.Status.pending);
+        plain.setNotes("");
+        PlanTaskRow custom = row(1, 11L, "Arrays");
+        custom.setLeetcodeId(null);
+        custom.setCustomLink("https://example.com/problem");
+        custom.setCustom(true);
+        custom.setStatus(UserProblemProgress.Status.completed);
+        custom.setNotes("memo");
+
+        JsonNode problems = objectMapper.valueToTree(DtoMapper.toCompactPlan(List.of(plain, custom), day -> "", true)).get("problems");
+
+        assertThat(fieldNames(problems.get("10"))).containsExactlyInAnyOrder("name", "difficulty", "topic", "status", "leetcodeId");
+        assertThat(fieldNames(problems.get("11"))).containsExactlyInAnyOrder("name", "difficulty", "topic", "status", "customLink", "custom", "notes");
+    }
+
+    @Test
+    void rowsAndDaysGiveTheSamePlan() {
+        PlanTaskRow first = row(1, 10L, "Arrays");
+        first.setStatus(UserProblemProgress.Status.completed);
+        first.setNotes("memo");
+        List<PlanTaskRow> rows = List.of(first, row(1, 11L, null), row(2, 10L, "Arrays"));
+
+        List<DailyPlanDto> days = new ArrayList<>();
+        for (int day = 1; day <= 2; day++) {
+            DailyPlanDto dto = new DailyPlanDto();
+            dto.setDay(day);
+            dto.setDate("day " + day);
+            int dayNumber = day;
+            dto.setProblems(rows.stream().filter(row -> row.getDayNumber() == dayNumber).map(DtoMapper::toProblemDto).toList());
+            days.add(dto);
+        }
+
+        assertThat(DtoMapper.toCompactPlan(rows, day -> "day " + day, true)).isEqualTo(DtoMapper.toCompactPlan(days, true));
+    }
+
+    private static PlanTaskRow row(int day, Long problemId, String topic) {
+        return new PlanTaskRow(day, problemId, "Problem " + problemId, Problem.Difficulty.Easy, topic,
+                "lc-" + problemId, null, false, null, null);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
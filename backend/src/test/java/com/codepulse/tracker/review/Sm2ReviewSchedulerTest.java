@@ -0,0 +1,125 @@
+package com.codepulse.tracker.review;
+
+import com.codepulse.tracker.entity.SpacedRepetitionReview;
+import com.codepulse.tracker.review.ReviewScheduler.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class Sm2ReviewSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private final Sm2ReviewScheduler scheduler = new Sm2ReviewScheduler(365);
+
+    @Test
+    void goodRecallsGrowFromOneAndSixDaysByTheEase() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+
+        assertThat(intervals(scheduler, review, Outcome.good, Outcome.good, Outcome.good, Outcome.good))
+                .containsExactly(1, 6, 15, 38);
+        assertThat(review.getEaseFactor()).isCloseTo(2.5, within(1e-9));
+        assertThat(review.getRepetitionCount()).isEqualTo(4);
+    }
+
+    @Test
+    void nextReviewDateIsTheIntervalFromToday() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+        review.setRepetitionCount(1);
+        review.setIntervalDays(1);
+
+        scheduler.schedule(review, Outcome.good, TODAY);
+
+        assertThat(review.getNextReviewDate()).isEqualTo(TODAY.plusDays(6));
+    }
+
+    @Test
+    void easyRecallsRaiseTheEase() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+
+        assertThat(intervals(scheduler, review, Outcome.easy, Outcome.easy, Outcome.easy))
+                .containsExactly(1, 6, 16);
+        assertThat(review.getEaseFactor()).isCloseTo(2.8, within(1e-9));
+    }
+
+    @Test
+    void hardRecallsLowerTheEaseButStillAdvance() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+
+        assertThat(intervals(scheduler, review, Outcome.hard, Outcome.hard, Outcome.hard))
+                .containsExactly(1, 6, 13);
+        assertThat(review.getEaseFactor()).isCloseTo(2.08, within(1e-9));
+        assertThat(review.getRepetitionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void againStartsTheRepetitionsOverAndKeepsTheLoweredEase() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+
+        assertThat(intervals(scheduler, review, Outcome.good, Outcome.good, Outcome.good, Outcome.again, Outcome.good, Outcome.good, Outcome.good))
+                .containsExactly(1, 6, 15, 1, 1, 6, 13);
+        assertThat(review.getEaseFactor()).isCloseTo(2.18, within(1e-9));
+    }
+
+    @Test
+    void easeNeverDropsBelowTheFloor() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+
+        intervals(scheduler, review, Outcome.again, Outcome.again, Outcome.again, Outcome.again, Outcome.again);
+        assertThat(review.getEaseFactor()).isEqualTo(1.3);
+
+        assertThat(intervals(scheduler, review, Outcome.hard, Outcome.hard, Outcome.hard))
+                .containsExactly(1, 6, 8);
+        assertThat(review.getEaseFactor()).isEqualTo(1.3);
+    }
+
+    @Test
+    void intervalsAreCappedAtTheMaximum() {
+        Sm2ReviewScheduler capped = new Sm2ReviewScheduler(30);
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+
+        assertThat(intervals(capped, review, Outcome.good, Outcome.good, Outcome.good, Outcome.good, Outcome.easy))
+                .containsExactly(1, 6, 15, 30, 30);
+        assertThat(review.getNextReviewDate()).isEqualTo(TODAY.plusDays(30));
+    }
+
+    @Test
+    void legacyReviewWithoutEaseStartsFromTheInitialEase() {
+        // A review that was on the 30-day step of the old ladder, with its interval backfilled
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+        review.setRepetitionCount(5);
+        review.setIntervalDays(30);
+        review.setEaseFactor(null);
+
+        scheduler.schedule(review, Outcome.good, TODAY);
+
+        assertThat(review.getIntervalDays()).isEqualTo(75);
+        assertThat(review.getRepetitionCount()).isEqualTo(6);
+        assertThat(review.getEaseFactor()).isCloseTo(Sm2ReviewScheduler.INITIAL_EASE, within(1e-9));
+    }
+
+    @Test
+    void reviewWithNullColumnsIsTreatedAsNew() {
+        SpacedRepetitionReview review = new SpacedRepetitionReview();
+        review.setRepetitionCount(null);
+        review.setIntervalDays(null);
+        review.setEaseFactor(null);
+
+        assertThat(intervals(scheduler, review, Outcome.good, Outcome.good, Outcome.good))
+                .containsExactly(1, 6, 15);
+    }
+
+    private static List<Integer> intervals(Sm2ReviewScheduler scheduler, SpacedRepetitionReview review, Outcome... outcomes) {
+        List<Integer> intervals = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            scheduler.schedule(review, outcome, TODAY);
+            intervals.add(review.getIntervalDays());
+        }
+        return intervals;
+    }
+}
@@ -0,0 +1,306 @@
+package com.codepulse.tracker.service;
+
+import com.codepulse.tracker.dto.DashboardStatsDto;
+import com.codepulse.tracker.dto.SpacedRepetitionDto;
+import com.codepulse.tracker.entity.Problem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardStatsCacheTest {
+
+    private static final Long USER = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+    private static final int REVIEW_LIMIT = 2;
+
+    private UserWriteTracker userWriteTracker;
+    private DashboardStatsCache cache;
+    private AtomicInteger loads;
+    private DashboardStatsDto stored;
+
+    @BeforeEach
+    void setUp() {
+        userWriteTracker = new UserWriteTracker(Duration.ofSeconds(10), 1_000);
+        cache = new DashboardStatsCache(100, Duration.ofMinutes(10), REVIEW_LIMIT, userWriteTracker, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+        stored = stats(List.of(review(10L, 100L, 1), review(11L, 101L, 2)), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void snapshotIsLoadedOnceAndServedFromTheCache() {
+        load();
+        load();
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onProgressAddedRaisesTotals() {
+        load();
+
+        cache.onProgressAdded(USER, Map.of(Problem.Difficulty.Easy, 2, Problem.Difficulty.Hard, 1));
+
+        DashboardStatsDto stats = load();
+        assertThat(stats.getTotal()).isEqualTo(13);
+        assertThat(stats.getEasy().getTotal()).isEqualTo(6);
+        assertThat(stats.getHard().getTotal()).isEqualTo(3);
+        assertThat(stats.getPercentage()).isEqualTo(4 * 100 / 13);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void cachedSnapshotsAreNeverMutated() {
+        DashboardStatsDto before = load();
+
+        cache.onProgressAdded(USER, Map.of(Problem.Difficulty.Easy, 2));
+
+        assertThat(before.getTotal()).isEqualTo(10);
+        assertThat(load()).isNotSameAs(before);
+    }
+
+    @Test
+    void onCompletedCountsAndListsTheNewReview() {
+        load();
+
+        cache.onCompleted(USER, Problem.Difficulty.Medium, review(12L, 102L, 0));
+
+        DashboardStatsDto stats = load();
+        assertThat(stats.getCompleted()).isEqualTo(5);
+        assertThat(stats.getMedium().getCompleted()).isEqualTo(2);
+        assertThat(problemIds(stats)).containsExactly(102L, 100L);
+        assertThat(stats.getSpacedRepetitionTotal()).isEqualTo(4);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onCompletedOnlyCountsAReviewThatSortsAfterAFullList() {
+        load();
+
+        cache.onCompleted(USER, Problem.Difficulty.Easy, review(12L, 102L, 30));
+
+        DashboardStatsDto stats = load();
+        assertThat(problemIds(stats)).containsExactly(100L, 101L);
+        assertThat(stats.getSpacedRepetitionTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void onRescheduledMovesAListedReview() {
+        stored = stats(List.of(review(10L, 100L, 1), review(11L, 101L, 2)), 2);
+        load();
+
+        cache.onRescheduled(USER, review(10L, 100L, 6));
+
+        DashboardStatsDto stats = load();
+        assertThat(problemIds(stats)).containsExactly(101L, 100L);
+        assertThat(stats.getSpacedRepetitionTotal()).isEqualTo(2);
+        assertThat(stats.getCompleted()).isEqualTo(4);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onRescheduledKeepsTheLastListedReviewThatMovesEarlier() {
+        load();
+
+        cache.onRescheduled(USER, review(11L, 101L, 0));
+
+        DashboardStatsDto stats = load();
+        assertThat(problemIds(stats)).containsExactly(101L, 100L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onRescheduledListsAnUnlistedReviewThatMovesUp() {
+        load();
+
+        cache.onRescheduled(USER, review(12L, 102L, 0));
+
+        DashboardStatsDto stats = load();
+        assertThat(problemIds(stats)).containsExactly(102L, 100L);
+        assertThat(stats.getSpacedRepetitionTotal()).isEqualTo(3);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onRescheduledRebuildsWhenAListedReviewMovesPastAFullList() {
+        load();
+
+        cache.onRescheduled(USER, review(10L, 100L, 30));
+
+        load();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onReopenedDropsTheReview() {
+        stored = stats(List.of(review(10L, 100L, 1), review(11L, 101L, 2)), 2);
+        load();
+
+        cache.onReopened(USER, Problem.Difficulty.Easy, 100L, true);
+
+        DashboardStatsDto stats = load();
+        assertThat(stats.getCompleted()).isEqualTo(3);
+        assertThat(stats.getEasy().getCompleted()).isEqualTo(1);
+        assertThat(problemIds(stats)).containsExactly(101L);
+        assertThat(stats.getSpacedRepetitionTotal()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onReopenedOnlyUncountsAnUnlistedReview() {
+        load();
+
+        cache.onReopened(USER, Problem.Difficulty.Easy, 102L, true);
+
+        DashboardStatsDto stats = load();
+        assertThat(problemIds(stats)).containsExactly(100L, 101L);
+        assertThat(stats.getSpacedRepetitionTotal()).isEqualTo(2);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void onReopenedRebuildsWhenAnUnlistedReviewWouldMoveUp() {
+        load();
+
+        cache.onReopened(USER, Problem.Difficulty.Easy, 100L, true);
+
+        load();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void adjustmentsWithoutASnapshotAreDropped() {
+        cache.onProgressAdded(USER, Map.of(Problem.Difficulty.Easy, 2));
+
+        assertThat(load().getTotal()).isEqualTo(10);
+    }
+
+    @Test
+    void adjustmentsWaitForTheCommit() {
+        load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.onProgressAdded(USER, Map.of(Problem.Difficulty.Easy, 2));
+        assertThat(load().getTotal()).isEqualTo(10);
+
+        commit();
+        assertThat(load().getTotal()).isEqualTo(12);
+    }
+
+    @Test
+    void snapshotLoadedDuringAWriteIsNotCached() {
+        TransactionSynchronizationManager.initSynchronization();
+        userWriteTracker.recordWrite(USER);
+        cache.onProgressAdded(USER, Map.of(Problem.Difficulty.Easy, 2));
+
+        // The load may or may not see the write, so it must not receive the adjustment
+        stored.setTotal(12);
+        assertThat(load().getTotal()).isEqualTo(12);
+        commit();
+
+        assertThat(load().getTotal()).isEqualTo(12);
+        assertThat(loads).hasValue(2);
+        load();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void snapshotOfALoadThatOverlapsAWriteIsNotCached() {
+        DashboardStatsDto loaded = cache.get(USER, id -> {
+            loads.incrementAndGet();
+            userWriteTracker.recordWrite(USER);
+            return stored;
+        });
+
+        assertThat(loaded).isSameAs(stored);
+        load();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void finalRevisionIsOnlyServedWithTheAdjustedSnapshot() {
+        load();
+        TransactionSynchronizationManager.initSynchronization();
+        userWriteTracker.recordWrite(USER);
+        cache.onProgressAdded(USER, Map.of(Problem.Difficulty.Easy, 2));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // A dashboard GET after each callback of the commit: the revision it tags the response with, and the total it serves
+        List<String> revisions = new ArrayList<>();
+        List<Integer> totals = new ArrayList<>();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCommit();
+            revisions.add(userWriteTracker.revision(USER));
+            totals.add(load().getTotal());
+        }
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            revisions.add(userWriteTracker.revision(USER));
+            totals.add(load().getTotal());
+        }
+
+        String finalRevision = userWriteTracker.revision(USER);
+        for (int i = 0; i < revisions.size(); i++) {
+            if (revisions.get(i).equals(finalRevision)) {
+                assertThat(totals.get(i)).as("total served with the final revision").isEqualTo(12);
+            }
+        }
+        assertThat(totals.get(totals.size() - 1)).isEqualTo(12);
+    }
+
+    private DashboardStatsDto load() {
+        return cache.get(USER, id -> {
+            loads.incrementAndGet();
+            return stored;
+        });
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    // 10 problems, 4 completed: Easy 2/4, Medium 1/4, Hard 1/2
+    private static DashboardStatsDto stats(List<SpacedRepetitionDto> reviews, long reviewTotal) {
+        DashboardStatsDto stats = new DashboardStatsDto();
+        stats.setEasy(new DashboardStatsDto.DifficultyStats(Problem.Difficulty.Easy, 4L, 2L));
+        stats.setMedium(new DashboardStatsDto.DifficultyStats(Problem.Difficulty.Medium, 4L, 1L));
+        stats.setHard(new DashboardStatsDto.DifficultyStats(Problem.Difficulty.Hard, 2L, 1L));
+        stats.setTotal(10);
+        stats.setCompleted(4);
+        stats.setPercentage(40);
+        stats.setSpacedRepetition(new ArrayList<>(reviews));
+        stats.setSpacedRepetitionTotal(reviewTotal);
+        return stats;
+    }
+
+    private static SpacedRepetitionDto review(Long reviewId, Long problemId, int dueInDays) {
+        return new SpacedRepetitionDto(reviewId, problemId, "Problem " + problemId, TODAY.plusDays(dueInDays), 1);
+    }
+
+    private static List<Long> problemIds(DashboardStatsDto stats) {
+        return stats.getSpacedRepetition().stream().map(SpacedRepetitionDto::getProblemId).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.codepulse.tracker.service;
+
+import com.codepulse.tracker.dto.StudyPlanJobDto;
+import com.codepulse.tracker.dto.StudyPlanRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudyPlanJobServiceTest {
+
+    private static final Long USER = 1L;
+
+    private StudyPlanService studyPlanService;
+    private StudyPlanJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        studyPlanService = mock(StudyPlanService.class);
+        jobService = new StudyPlanJobService(studyPlanService, 1, 10, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    void jobThatThrowsAnErrorFailsAndFreesTheUsersSlot() throws InterruptedException {
+        when(studyPlanService.createStudyPlan(any(), eq(USER)))
+                .thenThrow(new AssertionError("mapper bug"))
+                .thenReturn(List.of());
+
+        StudyPlanJobDto first = jobService.submit(new StudyPlanRequest(), USER);
+        StudyPlanJobDto finished = awaitFinished(first.getId());
+
+        assertThat(finished.getStatus()).isEqualTo(StudyPlanJobDto.Status.failed);
+        assertThat(finished.getError()).isNotNull();
+        StudyPlanJobDto second = jobService.submit(new StudyPlanRequest(), USER);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(awaitFinished(second.getId()).getStatus()).isEqualTo(StudyPlanJobDto.Status.completed);
+    }
+
+    private StudyPlanJobDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        StudyPlanJobDto job = jobService.getJob(jobId, USER);
+        while ((job.getStatus() == StudyPlanJobDto.Status.queued || job.getStatus() == StudyPlanJobDto.Status.running)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = jobService.getJob(jobId, USER);
+        }
+        return job;
+    }
+}
@@ -680,7 +680,7 @@ const Dashboard = ({ isDarkMode, stats }) => {
                     <div className="flex items-center justify-between">
                         <div>
                             <p className={`text-sm ${isDarkMode ? 'text-gray-400' : 'text-gray-600'}`}>Reviews Due</p>
-                            <p className="text-2xl font-bold text-orange-500">{stats.spacedRepetition.length}</p>
+                            <p className="text-2xl font-bold text-orange-500">{stats.spacedRepetitionTotal ?? stats.spacedRepetition.length}</p>
                         </div>
                         <Bell className="text-orange-500" size={24} />
                     </div>